@@ -33,9 +33,13 @@ import org.incendo.cloud.brigadier.BrigadierManagerHolder;
 import org.incendo.cloud.brigadier.CloudBrigadierManager;
 import org.incendo.cloud.brigadier.suggestion.TooltipSuggestion;
 import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.minecraft.modded.ModdedSetting;
+import org.incendo.cloud.minecraft.modded.ModdedSettingsHolder;
 import org.incendo.cloud.minecraft.modded.caption.ModdedDefaultCaptionsProvider;
 import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
 import org.incendo.cloud.minecraft.modded.internal.ModdedPreprocessor;
+import org.incendo.cloud.minecraft.modded.internal.ModdedSelectorPostprocessor;
+import org.incendo.cloud.setting.Configurable;
 import org.incendo.cloud.suggestion.SuggestionFactory;
 
 /**
@@ -53,9 +57,10 @@ import org.incendo.cloud.suggestion.SuggestionFactory;
  * @since 1.5.0
  */
 public abstract class FabricCommandManager<C, S extends SharedSuggestionProvider> extends CommandManager<C> implements
-    BrigadierManagerHolder<C, S>, SenderMapperHolder<S, C> {
+    BrigadierManagerHolder<C, S>, SenderMapperHolder<S, C>, ModdedSettingsHolder {
 
     private final SenderMapper<S, C> senderMapper;
+    private final Configurable<ModdedSetting> moddedSettings = Configurable.enumConfigurable(ModdedSetting.class);
     private final CloudBrigadierManager<C, S> brigadierManager;
     private final SuggestionFactory<C, ? extends TooltipSuggestion> suggestionFactory;
 
@@ -95,6 +100,7 @@ public abstract class FabricCommandManager<C, S extends SharedSuggestionProvider
         ModdedParserMappings.register(this, this.brigadierManager);
         this.captionRegistry().registerProvider(new ModdedDefaultCaptionsProvider<>());
         this.registerCommandPreProcessor(new ModdedPreprocessor<>(senderMapper));
+        this.registerCommandPostProcessor(new ModdedSelectorPostprocessor<>());
 
         ((FabricCommandRegistrationHandler<C, S>) this.commandRegistrationHandler()).initialize(this);
     }
@@ -136,6 +142,17 @@ public abstract class FabricCommandManager<C, S extends SharedSuggestionProvider
         return this.brigadierManager;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    @Override
+    public final @NonNull Configurable<ModdedSetting> moddedSettings() {
+        return this.moddedSettings;
+    }
+
     /* transition state to prevent further registration */
     final void registrationCalled() {
         this.lockRegistration();
@@ -26,6 +26,9 @@ package org.incendo.cloud.fabric;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.RootCommandNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
@@ -46,7 +49,11 @@ import org.incendo.cloud.brigadier.CloudBrigadierCommand;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.incendo.cloud.minecraft.modded.ModdedCommandMetaKeys;
+import org.incendo.cloud.minecraft.modded.ModdedSetting;
+import org.incendo.cloud.minecraft.modded.ParseResultCache;
 import org.incendo.cloud.minecraft.modded.internal.ContextualArgumentTypeProvider;
+import org.incendo.cloud.minecraft.modded.internal.ParseOnceBrigadierCommand;
+import org.incendo.cloud.minecraft.modded.internal.RegistrySuggestionIndex;
 
 import static org.incendo.cloud.brigadier.util.BrigadierUtil.buildRedirect;
 
@@ -109,6 +116,8 @@ abstract class FabricCommandRegistrationHandler<C, S extends SharedSuggestionPro
                 final CommandBuildContext commandBuildContext
         ) {
             this.registerEventFired = true;
+            RegistrySuggestionIndex.invalidateAll();
+            ParseResultCache.instance().invalidateAll();
             ContextualArgumentTypeProvider.withBuildContext(
                     this.commandManager(),
                     commandBuildContext,
@@ -147,6 +156,7 @@ abstract class FabricCommandRegistrationHandler<C, S extends SharedSuggestionPro
     static class Server<C> extends FabricCommandRegistrationHandler<C, CommandSourceStack> {
 
         private final Set<Command<C>> registeredCommands = ConcurrentHashMap.newKeySet();
+        private final Map<Command<C>, BuiltNodes> builtNodes = new ConcurrentHashMap<>();
 
         @Override
         void initialize(final FabricCommandManager<C, CommandSourceStack> manager) {
@@ -165,6 +175,12 @@ abstract class FabricCommandRegistrationHandler<C, S extends SharedSuggestionPro
                 final Commands.CommandSelection side
         ) {
             this.commandManager().registrationCalled();
+            RegistrySuggestionIndex.invalidateAll();
+            ParseResultCache.instance().invalidateAll();
+            final boolean incremental = this.commandManager().moddedSettings().get(ModdedSetting.INCREMENTAL_REGISTRATION);
+            if (!incremental) {
+                this.builtNodes.clear();
+            }
             ContextualArgumentTypeProvider.withBuildContext(
                     this.commandManager(),
                     access,
@@ -181,28 +197,68 @@ abstract class FabricCommandRegistrationHandler<C, S extends SharedSuggestionPro
                                     || (env == Commands.CommandSelection.DEDICATED && !side.includeDedicated)) {
                                 continue;
                             }
-                            this.registerCommand(dispatcher.getRoot(), command);
+                            if (incremental) {
+                                this.registerCachedCommand(dispatcher.getRoot(), command, access);
+                            } else {
+                                this.registerCommand(dispatcher.getRoot(), command);
+                            }
                         }
                     }
             );
         }
 
+        private void registerCachedCommand(
+                final RootCommandNode<CommandSourceStack> dispatcher,
+                final Command<C> command,
+                final CommandBuildContext access
+        ) {
+            BuiltNodes built = this.builtNodes.get(command);
+            // nodes that never asked for a contextual argument type are identical for every build context
+            if (built == null || (built.contextual() && built.buildContext() != access)) {
+                final List<CommandNode<CommandSourceStack>> nodes = new ArrayList<>();
+                final boolean contextual = ContextualArgumentTypeProvider.tracksBuildContextUse(
+                        () -> this.buildNodes(command, nodes)
+                );
+                built = new BuiltNodes(access, contextual, List.copyOf(nodes));
+                this.builtNodes.put(command, built);
+            }
+            for (final CommandNode<CommandSourceStack> node : built.nodes()) {
+                dispatcher.addChild(node);
+            }
+        }
+
         private void registerCommand(final RootCommandNode<CommandSourceStack> dispatcher, final Command<C> command) {
+            final List<CommandNode<CommandSourceStack>> nodes = new ArrayList<>();
+            this.buildNodes(command, nodes);
+            for (final CommandNode<CommandSourceStack> node : nodes) {
+                dispatcher.addChild(node);
+            }
+        }
+
+        private void buildNodes(final Command<C> command, final List<CommandNode<CommandSourceStack>> nodes) {
             final CommandComponent<C> component = command.rootComponent();
+            final com.mojang.brigadier.Command<CommandSourceStack> executor = ParseOnceBrigadierCommand.serverExecutor(
+                    this.commandManager(),
+                    this.commandManager().senderMapper(),
+                    this.commandManager().brigadierManager()
+            );
             final CommandNode<CommandSourceStack> baseNode = this.commandManager()
                     .brigadierManager()
                     .literalBrigadierNodeFactory()
-                    .createNode(
-                            component.name(),
-                            command,
-                            new CloudBrigadierCommand<>(this.commandManager(), this.commandManager().brigadierManager())
-                    );
+                    .createNode(component.name(), command, executor);
 
-            dispatcher.addChild(baseNode);
+            nodes.add(baseNode);
 
             for (final String alias : component.alternativeAliases()) {
-                dispatcher.addChild(buildRedirect(alias, baseNode));
+                nodes.add(buildRedirect(alias, baseNode));
             }
         }
+
+        private record BuiltNodes(
+                CommandBuildContext buildContext,
+                boolean contextual,
+                List<CommandNode<CommandSourceStack>> nodes
+        ) {
+        }
     }
 }
@@ -0,0 +1,122 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.fabric;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import net.minecraft.server.permissions.PermissionSet;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A cache of permission check results for players, used by {@link FabricServerCommandManager#hasPermission(Object, String)}
+ * once enabled through {@link FabricServerCommandManager#enablePermissionCache(Duration)}.
+ *
+ * <p>Results are cached per player, permission and permission level of the checked source, and expire after a fixed
+ * time. A player's results are dropped when they disconnect, and at most 16384 results are kept.
+ * Permission plugins do not announce changes through {@code fabric-permissions-api}, so changes made while a player is
+ * online only apply once their results expire, or once {@link #invalidate(UUID)} is called, for example from a
+ * permission plugin's change event.</p>
+ *
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class FabricPermissionCache {
+
+    private static final int MAXIMUM_SIZE = 16384;
+
+    private final Cache<Key, Boolean> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    FabricPermissionCache(final @NonNull Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("The time to live must be positive, was " + ttl);
+        }
+        this.entries = CacheBuilder.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+    }
+
+    /**
+     * Drops all cached results of a player.
+     *
+     * @param playerId the player's UUID
+     */
+    public void invalidate(final @NonNull UUID playerId) {
+        this.entries.asMap().keySet().removeIf(key -> key.playerId().equals(playerId));
+    }
+
+    /**
+     * Drops all cached results.
+     */
+    public void invalidateAll() {
+        this.entries.invalidateAll();
+    }
+
+    /**
+     * Returns the number of checks answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of checks that had to consult the permission provider.
+     *
+     * @return the miss count
+     */
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    boolean check(
+        final @NonNull UUID playerId,
+        final @NonNull String permission,
+        final @NonNull PermissionSet permissions,
+        final @NonNull BooleanSupplier lookup
+    ) {
+        // sources of the same player may run at different permission levels, e.g. through functions
+        final Key key = new Key(playerId, permission, permissions);
+        final Boolean cached = this.entries.getIfPresent(key);
+        if (cached != null) {
+            this.hits.increment();
+            return cached;
+        }
+        this.misses.increment();
+        final boolean value = lookup.getAsBoolean();
+        this.entries.put(key, value);
+        return value;
+    }
+
+    private record Key(UUID playerId, String permission, PermissionSet permissions) {
+    }
+}
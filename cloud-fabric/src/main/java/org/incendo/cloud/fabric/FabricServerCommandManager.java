@@ -23,17 +23,25 @@
 //
 package org.incendo.cloud.fabric;
 
+import java.time.Duration;
 import me.lucko.fabric.api.permissions.v0.Permissions;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.permissions.Permission;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.fabric.internal.LateRegistrationCatcher;
 import org.incendo.cloud.minecraft.modded.caption.MinecraftCaptionFormatter;
+import org.incendo.cloud.minecraft.modded.execution.TickBudgetedExecutionCoordinator;
+import org.incendo.cloud.minecraft.modded.execution.TimeSlicedTaskScheduler;
 import org.incendo.cloud.minecraft.modded.internal.ModdedExceptionHandler;
 import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
 
@@ -51,6 +59,8 @@ public final class FabricServerCommandManager<C> extends FabricCommandManager<C,
 
     private static final boolean HAS_PERMISSIONS_API = FabricLoader.getInstance().isModLoaded("fabric-permissions-api-v0");
 
+    private volatile @Nullable FabricPermissionCache permissionCache;
+
     /**
      * Create a command manager using native source types.
      *
@@ -98,13 +108,18 @@ public final class FabricServerCommandManager<C> extends FabricCommandManager<C,
 
         ModdedParserMappings.registerServer(this);
         ModdedExceptionHandler.registerDefaults(this, new MinecraftCaptionFormatter<>());
+
+        if (commandExecutionCoordinator instanceof TickBudgetedExecutionCoordinator<C> tickBudgeted && tickBudgeted.claimServerHooks()) {
+            ServerTickEvents.END_SERVER_TICK.register(server -> tickBudgeted.drain());
+            ServerLifecycleEvents.SERVER_STOPPING.register(server -> tickBudgeted.stop());
+        }
     }
 
     /**
      * Check if a sender has a certain permission.
      *
      * <p>The current implementation checks permissions using {@code fabric-permissions-api-v0},
-     * falling back to op level checks.</p>
+     * falling back to op level checks. Results for players may be cached, see {@link #enablePermissionCache(Duration)}.</p>
      *
      * @param sender     Command sender
      * @param permission Permission node
@@ -126,10 +141,73 @@ public final class FabricServerCommandManager<C> extends FabricCommandManager<C,
         }
 
         if (HAS_PERMISSIONS_API) {
+            final FabricPermissionCache cache = this.permissionCache;
+            // only players, other entities would fill the cache with results never looked up again
+            if (cache != null && source.getEntity() instanceof ServerPlayer player) {
+                return cache.check(
+                    player.getUUID(),
+                    permission,
+                    source.permissions(),
+                    () -> Permissions.check(source, permission, source.getServer().operatorUserPermissions().level())
+                );
+            }
             return Permissions.check(source, permission, source.getServer().operatorUserPermissions().level());
         }
         return source.permissions().hasPermission(
             new Permission.HasCommandLevel(source.getServer().operatorUserPermissions().level())
         );
     }
+
+    /**
+     * Enables caching the results of permission checks for players, which is useful when the permission provider is
+     * expensive to query. Has no effect without {@code fabric-permissions-api}, as the fallback op level checks are
+     * cheap.
+     *
+     * <p>Calling this again replaces the existing cache.</p>
+     *
+     * @param ttl how long results are cached for
+     * @return the cache, to report statistics and invalidate results through
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public @NonNull FabricPermissionCache enablePermissionCache(final @NonNull Duration ttl) {
+        final FabricPermissionCache cache = new FabricPermissionCache(ttl);
+        if (this.permissionCache == null) {
+            ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+                final FabricPermissionCache current = this.permissionCache;
+                if (current != null) {
+                    current.invalidate(handler.getPlayer().getUUID());
+                }
+            });
+        }
+        this.permissionCache = cache;
+        return cache;
+    }
+
+    /**
+     * Runs the units of the tasks submitted to {@code scheduler} at the end of every server tick, and stops its tasks
+     * when the server stops.
+     *
+     * <p>A scheduler should only be registered with one manager.</p>
+     *
+     * @param scheduler the scheduler
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public void registerTimeSlicedTasks(final @NonNull TimeSlicedTaskScheduler scheduler) {
+        ServerTickEvents.END_SERVER_TICK.register(server -> scheduler.tick());
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> scheduler.stop());
+    }
+
+    /**
+     * Returns the permission result cache, if enabled.
+     *
+     * @return the cache, or {@code null}
+     * @see #enablePermissionCache(Duration)
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public @Nullable FabricPermissionCache permissionCache() {
+        return this.permissionCache;
+    }
 }
@@ -0,0 +1,35 @@
+import net.ltgt.gradle.errorprone.errorprone
+
+plugins {
+    id("conventions.base")
+    id("net.neoforged.moddev")
+    alias(libs.plugins.jmh)
+}
+
+neoForge {
+    enable {
+        neoFormVersion = libs.versions.neoform.get()
+    }
+    addModdingDependenciesTo(sourceSets.jmh.get())
+}
+
+dependencies {
+    jmhImplementation(project(":cloud-minecraft-modded-common"))
+    jmhImplementation(platform(libs.cloud.bom))
+    jmhImplementation(libs.cloud.core)
+    jmhImplementation(platform(libs.cloud.minecraft.bom))
+    jmhImplementation(libs.cloud.brigadier)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    // Allocation per operation is as interesting as throughput for command parsing, so always record it
+    profilers.add("gc")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
+tasks {
+    named<JavaCompile>("jmhCompileGeneratedClasses") {
+        options.errorprone.isEnabled = false
+    }
+}
@@ -0,0 +1,130 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.commands.CommandSource;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.server.permissions.LevelBasedPermissionSet;
+import net.minecraft.world.phys.Vec2;
+import net.minecraft.world.phys.Vec3;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.internal.CommandRegistrationHandler;
+import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
+
+/**
+ * Shared fixtures for running the benchmarks without a Minecraft server or client.
+ */
+final class BenchmarkEnvironment {
+
+    private static boolean bootstrapped;
+
+    private BenchmarkEnvironment() {
+    }
+
+    /**
+     * Bootstraps the vanilla registries, once per JVM.
+     */
+    static synchronized void bootstrap() {
+        if (bootstrapped) {
+            return;
+        }
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        bootstrapped = true;
+    }
+
+    /**
+     * Creates a registry access exposing the built-in (static) registries.
+     *
+     * @return the registry access
+     */
+    static @NonNull RegistryAccess registryAccess() {
+        bootstrap();
+        return RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY);
+    }
+
+    /**
+     * Creates a server-side source that has no level, server or entity attached.
+     *
+     * <p>This is enough to get through the server-only checks of the vanilla parsers. Selectors can only be
+     * resolved against the executing entity ({@code @s}), since there is no world to scan.</p>
+     *
+     * @return the source
+     */
+    @SuppressWarnings("DataFlowIssue")
+    static @NonNull CommandSourceStack headlessServerSource() {
+        bootstrap();
+        return new CommandSourceStack(
+            CommandSource.NULL,
+            Vec3.ZERO,
+            Vec2.ZERO,
+            null,
+            LevelBasedPermissionSet.OWNER,
+            "benchmark",
+            Component.literal("benchmark"),
+            null,
+            null
+        );
+    }
+
+    /**
+     * Creates a command context as the modded preprocessor would populate it.
+     *
+     * @param manager command manager
+     * @param source  native source, also used as the sender
+     * @return the command context
+     */
+    static @NonNull CommandContext<SharedSuggestionProvider> context(
+        final @NonNull CommandManager<SharedSuggestionProvider> manager,
+        final @NonNull SharedSuggestionProvider source
+    ) {
+        final CommandContext<SharedSuggestionProvider> context = new CommandContext<>(source, manager);
+        context.store(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER, source);
+        return context;
+    }
+
+    /**
+     * A command manager that does not register commands anywhere and grants every permission.
+     */
+    static final class BenchmarkCommandManager extends CommandManager<SharedSuggestionProvider> {
+
+        BenchmarkCommandManager() {
+            super(ExecutionCoordinator.simpleCoordinator(), CommandRegistrationHandler.nullCommandRegistrationHandler());
+        }
+
+        @Override
+        public boolean hasPermission(final @NonNull SharedSuggestionProvider sender, final @NonNull String permission) {
+            return true;
+        }
+    }
+}
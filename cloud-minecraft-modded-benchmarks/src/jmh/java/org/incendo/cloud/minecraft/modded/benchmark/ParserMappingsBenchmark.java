@@ -0,0 +1,77 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.minecraft.commands.SharedSuggestionProvider;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.SenderMapper;
+import org.incendo.cloud.brigadier.CloudBrigadierManager;
+import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Registers the modded parser mappings into a fresh manager, as every modded command manager does on construction.
+ *
+ * <p>{@link #createManager()} is the baseline to subtract from {@link #register()}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserMappingsBenchmark {
+
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.bootstrap();
+    }
+
+    @Benchmark
+    public CommandManager<SharedSuggestionProvider> createManager() {
+        final CommandManager<SharedSuggestionProvider> manager = new BenchmarkEnvironment.BenchmarkCommandManager();
+        new CloudBrigadierManager<>(manager, SenderMapper.<SharedSuggestionProvider>identity());
+        return manager;
+    }
+
+    @Benchmark
+    public CommandManager<SharedSuggestionProvider> register() {
+        final CommandManager<SharedSuggestionProvider> manager = new BenchmarkEnvironment.BenchmarkCommandManager();
+        final CloudBrigadierManager<SharedSuggestionProvider, SharedSuggestionProvider> brigadierManager =
+            new CloudBrigadierManager<>(manager, SenderMapper.identity());
+        ModdedParserMappings.register(manager, brigadierManager);
+        ModdedParserMappings.registerServer(manager);
+        return manager;
+    }
+}
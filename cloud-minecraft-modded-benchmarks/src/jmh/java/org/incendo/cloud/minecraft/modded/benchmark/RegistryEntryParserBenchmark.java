@@ -0,0 +1,105 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.item.Item;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.minecraft.modded.parser.RegistryEntryParser;
+import org.incendo.cloud.minecraft.modded.parser.RegistryHolderParser;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parses and suggests entries of the item registry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistryEntryParserBenchmark {
+
+    @Param({"", "st", "minecraft:", "minecraft:diamond_"})
+    public String suggestionInput;
+
+    private CommandContext<SharedSuggestionProvider> context;
+    private RegistryEntryParser<SharedSuggestionProvider, Item> parser;
+    private RegistryHolderParser<SharedSuggestionProvider, Item> holderParser;
+
+    @Setup
+    public void setup() {
+        this.context = BenchmarkEnvironment.context(
+            new BenchmarkEnvironment.BenchmarkCommandManager(),
+            new StubSuggestionProvider(BenchmarkEnvironment.registryAccess(), List.of())
+        );
+        this.parser = new RegistryEntryParser<>(Registries.ITEM);
+        this.holderParser = new RegistryHolderParser<>(Registries.ITEM);
+    }
+
+    @Benchmark
+    public ArgumentParseResult<Item> parseNamespaced() {
+        return this.parser.parse(this.context, CommandInput.of("minecraft:diamond_sword"));
+    }
+
+    @Benchmark
+    public ArgumentParseResult<Item> parseImplicitNamespace() {
+        return this.parser.parse(this.context, CommandInput.of("diamond_sword"));
+    }
+
+    @Benchmark
+    public ArgumentParseResult<Holder.Reference<Item>> parseHolder() {
+        return this.holderParser.parse(this.context, CommandInput.of("minecraft:diamond_sword"));
+    }
+
+    @Benchmark
+    public ArgumentParseResult<Item> parseUnknown() {
+        return this.parser.parse(this.context, CommandInput.of("minecraft:not_an_item"));
+    }
+
+    @Benchmark
+    public void suggestions(final Blackhole blackhole) {
+        // Consume every suggestion, as cloud would when filtering them
+        for (final String suggestion : this.parser.stringSuggestions(this.context, CommandInput.of(this.suggestionInput))) {
+            blackhole.consume(suggestion);
+        }
+    }
+}
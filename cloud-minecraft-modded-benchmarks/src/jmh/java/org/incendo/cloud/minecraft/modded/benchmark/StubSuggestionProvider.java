@@ -0,0 +1,108 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.resources.Identifier;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.permissions.LevelBasedPermissionSet;
+import net.minecraft.server.permissions.PermissionSet;
+import net.minecraft.world.flag.FeatureFlagSet;
+import net.minecraft.world.flag.FeatureFlags;
+import net.minecraft.world.level.Level;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A {@link SharedSuggestionProvider} backed by fixed data, standing in for a client-side source.
+ */
+final class StubSuggestionProvider implements SharedSuggestionProvider {
+
+    private final RegistryAccess registryAccess;
+    private final Collection<String> teams;
+
+    StubSuggestionProvider(final @NonNull RegistryAccess registryAccess, final @NonNull Collection<String> teams) {
+        this.registryAccess = registryAccess;
+        this.teams = teams;
+    }
+
+    @Override
+    public @NonNull Collection<String> getOnlinePlayerNames() {
+        return List.of();
+    }
+
+    @Override
+    public @NonNull Collection<String> getAllTeams() {
+        return this.teams;
+    }
+
+    @Override
+    public @NonNull Stream<Identifier> getAvailableSounds() {
+        return Stream.empty();
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Suggestions> customSuggestion(final @NonNull CommandContext<?> context) {
+        return Suggestions.empty();
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Suggestions> suggestRegistryElements(
+        final @NonNull ResourceKey<? extends Registry<?>> key,
+        final @NonNull ElementSuggestionType elementSuggestionType,
+        final @NonNull SuggestionsBuilder builder,
+        final @NonNull CommandContext<?> context
+    ) {
+        return Suggestions.empty();
+    }
+
+    @Override
+    public @NonNull Set<ResourceKey<Level>> levels() {
+        return Set.of(Level.OVERWORLD);
+    }
+
+    @Override
+    public @NonNull RegistryAccess registryAccess() {
+        return this.registryAccess;
+    }
+
+    @Override
+    public @NonNull FeatureFlagSet enabledFeatures() {
+        return FeatureFlags.DEFAULT_FLAGS;
+    }
+
+    @Override
+    public @NonNull PermissionSet permissions() {
+        return LevelBasedPermissionSet.OWNER;
+    }
+}
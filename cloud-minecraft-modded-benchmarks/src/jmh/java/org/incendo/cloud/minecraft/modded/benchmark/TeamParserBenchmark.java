@@ -0,0 +1,100 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.world.scores.PlayerTeam;
+import net.minecraft.world.scores.Scoreboard;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.minecraft.modded.internal.TeamNameIndex;
+import org.incendo.cloud.minecraft.modded.parser.TeamParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Suggests team names from a source exposing a fixed number of teams, and from a team index holding the same teams.
+ *
+ * <p>The stub source is not backed by a scoreboard, so the parser falls back to filtering every team name.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TeamParserBenchmark {
+
+    @Param({"16", "1024", "8192"})
+    public int teams;
+
+    private CommandContext<SharedSuggestionProvider> context;
+    private TeamParser<SharedSuggestionProvider> parser;
+    private TeamNameIndex index;
+
+    @Setup
+    public void setup() {
+        final List<String> teamNames = new ArrayList<>(this.teams);
+        for (int i = 0; i < this.teams; i++) {
+            teamNames.add("arena_" + i);
+        }
+        this.context = BenchmarkEnvironment.context(
+            new BenchmarkEnvironment.BenchmarkCommandManager(),
+            new StubSuggestionProvider(BenchmarkEnvironment.registryAccess(), teamNames)
+        );
+        this.parser = new TeamParser<>();
+        final Scoreboard scoreboard = new Scoreboard();
+        this.index = new TeamNameIndex();
+        for (final String teamName : teamNames) {
+            this.index.add(new PlayerTeam(scoreboard, teamName));
+        }
+    }
+
+    @Benchmark
+    public void suggestions(final Blackhole blackhole) {
+        for (final String suggestion : this.parser.stringSuggestions(this.context, CommandInput.of("arena_1"))) {
+            blackhole.consume(suggestion);
+        }
+    }
+
+    @Benchmark
+    public void indexedSuggestions(final Blackhole blackhole) {
+        for (final String suggestion : this.index.suggestions("arena_1")) {
+            blackhole.consume(suggestion);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.minecraft.commands.SharedSuggestionProvider;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.minecraft.modded.data.Coordinates;
+import org.incendo.cloud.minecraft.modded.data.Message;
+import org.incendo.cloud.minecraft.modded.data.MinecraftTime;
+import org.incendo.cloud.minecraft.modded.data.MultipleEntitySelector;
+import org.incendo.cloud.minecraft.modded.data.MultiplePlayerSelector;
+import org.incendo.cloud.minecraft.modded.data.SingleEntitySelector;
+import org.incendo.cloud.minecraft.modded.parser.SelectorResolution;
+import org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ArgumentParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses through the cloud wrappers around the vanilla selector, coordinate, time and message argument types.
+ *
+ * <p>Selectors only target the executing entity, as there is no world to scan. This measures the Brigadier parse
+ * and the cloud wrapping, not the entity lookup itself. Selectors are resolved on access by default, so only the
+ * eager variant resolves anything at all.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VanillaArgumentParsersBenchmark {
+
+    private CommandContext<SharedSuggestionProvider> context;
+    private ArgumentParser<SharedSuggestionProvider, SingleEntitySelector> singleEntitySelectorParser;
+    private ArgumentParser<SharedSuggestionProvider, MultipleEntitySelector> multipleEntitySelectorParser;
+    private ArgumentParser<SharedSuggestionProvider, MultipleEntitySelector> eagerMultipleEntitySelectorParser;
+    private ArgumentParser<SharedSuggestionProvider, MultiplePlayerSelector> multiplePlayerSelectorParser;
+    private ArgumentParser<SharedSuggestionProvider, Coordinates> vec3Parser;
+    private ArgumentParser<SharedSuggestionProvider, Coordinates.BlockCoordinates> blockPosParser;
+    private ArgumentParser<SharedSuggestionProvider, MinecraftTime> timeParser;
+    private ArgumentParser<SharedSuggestionProvider, Message> messageParser;
+
+    @Setup
+    public void setup() {
+        this.context = BenchmarkEnvironment.context(
+            new BenchmarkEnvironment.BenchmarkCommandManager(),
+            BenchmarkEnvironment.headlessServerSource()
+        );
+        this.singleEntitySelectorParser = VanillaArgumentParsers.<SharedSuggestionProvider>singleEntitySelectorParser().parser();
+        this.multipleEntitySelectorParser = VanillaArgumentParsers.<SharedSuggestionProvider>multipleEntitySelectorParser().parser();
+        this.eagerMultipleEntitySelectorParser = VanillaArgumentParsers.<SharedSuggestionProvider>multipleEntitySelectorParser(
+            SelectorResolution.EAGER
+        ).parser();
+        this.multiplePlayerSelectorParser = VanillaArgumentParsers.<SharedSuggestionProvider>multiplePlayerSelectorParser().parser();
+        this.vec3Parser = VanillaArgumentParsers.<SharedSuggestionProvider>vec3Parser(false).parser();
+        this.blockPosParser = VanillaArgumentParsers.<SharedSuggestionProvider>blockPosParser().parser();
+        this.timeParser = VanillaArgumentParsers.<SharedSuggestionProvider>timeParser().parser();
+        this.messageParser = VanillaArgumentParsers.<SharedSuggestionProvider>messageParser().parser();
+    }
+
+    @Benchmark
+    public ArgumentParseResult<?> singleEntitySelectorNoMatch() {
+        return this.singleEntitySelectorParser.parseFuture(this.context, CommandInput.of("@s")).join();
+    }
+
+    @Benchmark
+    public ArgumentParseResult<?> multipleEntitySelector() {
+        return this.multipleEntitySelectorParser.parseFuture(
+            this.context,
+            CommandInput.of("@s[tag=benchmark,distance=..500,limit=5,sort=nearest]")
+        ).join();
+    }
+
+    @Benchmark
+    public ArgumentParseResult<?> multipleEntitySelectorEager() {
+        return this.eagerMultipleEntitySelectorParser.parseFuture(
+            this.context,
+            CommandInput.of("@s[tag=benchmark,distance=..500,limit=5,sort=nearest]")
+        ).join();
+    }
+
+    @Benchmark
+    public ArgumentParseResult<?> multiplePlayerSelector() {
+        return this.multiplePlayerSelectorParser.parseFuture(this.context, CommandInput.of("@s[tag=benchmark]")).join();
+    }
+
+    @Benchmark
+    public ArgumentParseResult<?> vec3Relative() {
+        return this.vec3Parser.parseFuture(this.context, CommandInput.of("~1 ~2.5 ~-3")).join();
+    }
+
+    @Benchmark
+    public ArgumentParseResult<?> blockPosAbsolute() {
+        return this.blockPosParser.parseFuture(this.context, CommandInput.of("120 64 -35")).join();
+    }
+
+    @Benchmark
+    public ArgumentParseResult<?> time() {
+        return this.timeParser.parseFuture(this.context, CommandInput.of("2.5d")).join();
+    }
+
+    @Benchmark
+    public ArgumentParseResult<?> messagePlain() {
+        return this.messageParser.parseFuture(this.context, CommandInput.of("the server restarts in five minutes")).join();
+    }
+
+    @Benchmark
+    public ArgumentParseResult<?> messageWithSelector() {
+        return this.messageParser.parseFuture(this.context, CommandInput.of("hello @s, welcome back")).join();
+    }
+}
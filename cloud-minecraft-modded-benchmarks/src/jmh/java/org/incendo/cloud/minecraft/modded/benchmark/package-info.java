@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks for the shared modded parsers and the Brigadier bridge.
+ */
+package org.incendo.cloud.minecraft.modded.benchmark;
@@ -0,0 +1,209 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.context.CommandContext;
+import org.slf4j.Logger;
+
+/**
+ * Rate limits the logging of unexpected command failures done by the default exception handlers.
+ *
+ * <p>Failures are grouped by command and by a fingerprint of the exception, its class and top stack frames. The first
+ * failures of a group within a window are logged with their stack trace, further ones are counted and summarized in a
+ * single line at the end of the window. The burst size and the window length are read from the
+ * {@code cloud.failure_log.burst} and {@code cloud.failure_log.window_seconds} system properties, and default to
+ * 5 failures per 60 seconds.</p>
+ *
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class CommandFailureLogger {
+
+    private static final int FINGERPRINT_FRAMES = 3;
+    private static final CommandFailureLogger INSTANCE = new CommandFailureLogger(
+        Math.max(1, Integer.getInteger("cloud.failure_log.burst", 5)),
+        Math.max(1, Integer.getInteger("cloud.failure_log.window_seconds", 60))
+    );
+
+    private final int burst;
+    private final int windowSeconds;
+    private final Map<Group, Counter> groups = new ConcurrentHashMap<>();
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private volatile @Nullable ScheduledExecutorService summaries;
+
+    private CommandFailureLogger(final int burst, final int windowSeconds) {
+        this.burst = burst;
+        this.windowSeconds = windowSeconds;
+    }
+
+    /**
+     * Returns the logger shared by all modded command managers.
+     *
+     * @return the failure logger
+     */
+    public static @NonNull CommandFailureLogger instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the number of failures logged with their stack trace.
+     *
+     * @return logged failure count
+     */
+    public long logged() {
+        return this.logged.sum();
+    }
+
+    /**
+     * Returns the number of failures only counted towards a summary.
+     *
+     * @return suppressed failure count
+     */
+    public long suppressed() {
+        return this.suppressed.sum();
+    }
+
+    /**
+     * Returns the number of distinct failure groups seen within the current window.
+     *
+     * @return tracked group count
+     */
+    public int trackedGroups() {
+        return this.groups.size();
+    }
+
+    /**
+     * Logs a failure, unless its group has exceeded the burst size in the current window.
+     *
+     * @param logger  the logger to write to
+     * @param context the context of the failed command
+     * @param user    the name of the user who ran the command
+     * @param failure the failure
+     */
+    @API(status = API.Status.INTERNAL)
+    public void log(
+        final @NonNull Logger logger,
+        final @NonNull CommandContext<?> context,
+        final @NonNull String user,
+        final @NonNull Throwable failure
+    ) {
+        // windows must run from the first failure, or groups would never reset before their first suppression
+        this.ensureSummaries();
+        final Group group = Group.of(context, failure);
+        final Counter counter = this.groups.computeIfAbsent(group, $ -> new Counter(logger));
+        if (counter.occurrences.incrementAndGet() <= this.burst) {
+            this.logged.increment();
+            logger.warn("Error occurred while executing command for user {}", user, failure);
+            return;
+        }
+        this.suppressed.increment();
+        if (counter.suppressed.getAndIncrement() == 0) {
+            logger.warn(
+                "Suppressing further {} errors in command '{}' for up to {} seconds",
+                group.exceptionType(),
+                group.command(),
+                this.windowSeconds
+            );
+        }
+    }
+
+    private void ensureSummaries() {
+        if (this.summaries != null) {
+            return;
+        }
+        synchronized (this) {
+            if (this.summaries == null) {
+                final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "cloud-command-failure-summaries");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                executor.scheduleAtFixedRate(this::endWindow, this.windowSeconds, this.windowSeconds, TimeUnit.SECONDS);
+                this.summaries = executor;
+            }
+        }
+    }
+
+    private void endWindow() {
+        for (final Map.Entry<Group, Counter> entry : this.groups.entrySet()) {
+            final Counter counter = entry.getValue();
+            final int suppressed = counter.suppressed.getAndSet(0);
+            if (counter.occurrences.getAndSet(0) == 0) {
+                // quiet for a whole window
+                this.groups.remove(entry.getKey(), counter);
+            }
+            if (suppressed > 0) {
+                counter.logger.warn(
+                    "{} in command '{}' occurred {} more times in the last {} seconds",
+                    entry.getKey().exceptionType(),
+                    entry.getKey().command(),
+                    suppressed,
+                    this.windowSeconds
+                );
+            }
+        }
+    }
+
+    private record Group(String command, String exceptionType, List<StackTraceElement> topFrames) {
+
+        static Group of(final CommandContext<?> context, final Throwable failure) {
+            final @Nullable Command<?> command = context.command();
+            final StackTraceElement[] trace = failure.getStackTrace();
+            return new Group(
+                command == null ? rootLiteral(context.rawInput().input()) : command.rootComponent().name(),
+                failure.getClass().getName(),
+                Arrays.asList(Arrays.copyOf(trace, Math.min(trace.length, FINGERPRINT_FRAMES)))
+            );
+        }
+
+        private static String rootLiteral(final String input) {
+            final int space = input.indexOf(' ');
+            return space < 0 ? input : input.substring(0, space);
+        }
+    }
+
+    private static final class Counter {
+        private final Logger logger;
+        private final AtomicInteger occurrences = new AtomicInteger();
+        private final AtomicInteger suppressed = new AtomicInteger();
+
+        private Counter(final Logger logger) {
+            this.logger = logger;
+        }
+    }
+}
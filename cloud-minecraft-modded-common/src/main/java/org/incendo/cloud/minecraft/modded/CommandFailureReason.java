@@ -0,0 +1,66 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import org.apiguardian.api.API;
+
+/**
+ * Why a command failed, as recorded by the default exception handlers under
+ * {@link ModdedCommandContextKeys#FAILURE_REASON}.
+ *
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public enum CommandFailureReason {
+    /**
+     * The command or its handler threw an unexpected exception.
+     */
+    UNEXPECTED,
+    /**
+     * An argument could not be parsed.
+     */
+    INVALID_ARGUMENT,
+    /**
+     * No command matched the input.
+     */
+    NO_SUCH_COMMAND,
+    /**
+     * The sender lacks the permission required by the command.
+     */
+    NO_PERMISSION,
+    /**
+     * The sender is not of a type accepted by the command.
+     */
+    INVALID_SENDER,
+    /**
+     * The input did not match the command's syntax.
+     */
+    INVALID_SYNTAX,
+    /**
+     * The command was rejected because too many commands were already waiting to run.
+     *
+     * @see org.incendo.cloud.minecraft.modded.execution.TickBudgetedExecutionCoordinator
+     */
+    QUEUE_FULL
+}
@@ -25,6 +25,7 @@ package org.incendo.cloud.minecraft.modded;
 
 import io.leangen.geantyref.TypeToken;
 import net.minecraft.commands.SharedSuggestionProvider;
+import org.apiguardian.api.API;
 import org.incendo.cloud.key.CloudKey;
 
 /**
@@ -41,4 +42,17 @@ public final class ModdedCommandContextKeys {
         "cloud:modded_command_source",
         TypeToken.get(SharedSuggestionProvider.class)
     );
+
+    /**
+     * Key used to store why a command failed, set by the default exception handlers.
+     *
+     * <p>The reason is stored even when no failure message is built, because the source does not display them.</p>
+     *
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public static final CloudKey<CommandFailureReason> FAILURE_REASON = CloudKey.of(
+        "cloud:modded_failure_reason",
+        TypeToken.get(CommandFailureReason.class)
+    );
 }
@@ -24,7 +24,9 @@
 package org.incendo.cloud.minecraft.modded;
 
 import io.leangen.geantyref.TypeToken;
+import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.minecraft.modded.parser.SelectorResolution;
 import org.incendo.cloud.parser.ParserParameter;
 
 /**
@@ -40,6 +42,18 @@ public final class ModdedParserParameters {
      */
     public static final ParserParameter<Boolean> CENTER_INTEGERS = create("center_integers", TypeToken.get(Boolean.class));
 
+    /**
+     * When entity selectors are resolved into their values, defaulting to
+     * {@link SelectorResolution#ON_ACCESS} unless {@link ModdedSetting#EAGER_SELECTOR_RESOLUTION} is enabled.
+     *
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public static final ParserParameter<SelectorResolution> SELECTOR_RESOLUTION = create(
+        "selector_resolution",
+        TypeToken.get(SelectorResolution.class)
+    );
+
     private static <T> @NonNull ParserParameter<T> create(
         final @NonNull String key,
         final @NonNull TypeToken<T> expectedType
@@ -0,0 +1,77 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import org.apiguardian.api.API;
+import org.incendo.cloud.setting.Setting;
+
+/**
+ * Platform settings for the modded command managers, configured through {@link ModdedSettingsHolder#moddedSettings()}.
+ *
+ * <p>All settings are disabled by default.</p>
+ *
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public enum ModdedSetting implements Setting {
+    /**
+     * Keep the Brigadier nodes built for each command between registrations, and only rebuild the nodes of commands
+     * using argument types that depend on the {@link net.minecraft.commands.CommandBuildContext} when that context changes.
+     *
+     * <p>This makes {@code /reload} cheaper for managers with many commands. Reused nodes are shared between the old
+     * and the new dispatcher, so this should not be enabled when other mods add children to literals of the same name
+     * as cloud commands. Currently only honoured by the Fabric server command manager.</p>
+     */
+    INCREMENTAL_REGISTRATION,
+    /**
+     * Memoize the results of the item, block predicate, particle, NBT path and NBT tag parsers in the shared
+     * {@link ParseResultCache}, for inputs that are parsed over and over by command blocks and functions.
+     *
+     * <p>Only parsers created after the setting is enabled are affected. Mutable results are copied on every cache
+     * hit.</p>
+     */
+    MEMOIZE_PARSE_RESULTS,
+    /**
+     * Remember how cloud parsed each line of a function or command block, and run the handler directly on later runs
+     * of the same line, re-parsing only the arguments that depend on the source, such as selectors and relative
+     * coordinates.
+     *
+     * <p>Lines are planned on their first run, and only when their handler ran synchronously. Planned handlers then
+     * run on the calling thread, bypassing the execution coordinator. Commands using flags always go through the
+     * command tree. Only honoured by the server command managers, and read whenever the Brigadier nodes of a command
+     * are built.</p>
+     */
+    PARSE_FUNCTION_COMMANDS_ONCE,
+    /**
+     * Resolve entity selectors while parsing, as cloud did before 2.1.0, for selector arguments registered by type or
+     * annotation that do not specify their own {@link ModdedParserParameters#SELECTOR_RESOLUTION}.
+     *
+     * <p>By default such selectors use {@link org.incendo.cloud.minecraft.modded.parser.SelectorResolution#ON_ACCESS},
+     * so a selector matching nothing no longer fails parsing; the failure surfaces from the handler instead. Enable this
+     * to keep parse-time failures, for example when registering a custom handler for
+     * {@link org.incendo.cloud.exception.CommandExecutionException}s. Read whenever a selector parser is created from
+     * its type.</p>
+     */
+    EAGER_SELECTOR_RESOLUTION
+}
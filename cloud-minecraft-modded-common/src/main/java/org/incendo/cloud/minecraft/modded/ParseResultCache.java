@@ -0,0 +1,161 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mojang.brigadier.arguments.ArgumentType;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Memoizes the results of deterministic vanilla argument types, used when {@link ModdedSetting#MEMOIZE_PARSE_RESULTS}
+ * is enabled.
+ *
+ * <p>Results are keyed by the Brigadier argument type instance and the remaining command input. Argument types that
+ * depend on the {@link net.minecraft.commands.CommandBuildContext} are recreated whenever that context changes, so
+ * the cache is cleared whenever commands are registered, rather than holding on to the registries of an old context
+ * until its entries age out. The cache is shared by all managers and
+ * evicts the least recently used entries past the size read from the {@code cloud.parse_cache.max_size} system
+ * property, 4096 by default.</p>
+ *
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class ParseResultCache {
+
+    private static final ParseResultCache INSTANCE = new ParseResultCache(
+        Math.max(16, Integer.getInteger("cloud.parse_cache.max_size", 4096))
+    );
+
+    private final Cache<Key, Entry> entries;
+
+    private ParseResultCache(final int maximumSize) {
+        this.entries = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns the cache shared by all modded command managers.
+     *
+     * @return the parse result cache
+     */
+    public static @NonNull ParseResultCache instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the number of parses answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long hits() {
+        return this.entries.stats().hitCount();
+    }
+
+    /**
+     * Returns the number of parses that missed the cache.
+     *
+     * @return the miss count
+     */
+    public long misses() {
+        return this.entries.stats().missCount();
+    }
+
+    /**
+     * Returns the ratio of parses answered from the cache, or {@code 1} if nothing was looked up yet.
+     *
+     * @return the hit rate
+     */
+    public double hitRate() {
+        return this.entries.stats().hitRate();
+    }
+
+    /**
+     * Returns the number of entries evicted to stay within the size limit.
+     *
+     * @return the eviction count
+     */
+    public long evictions() {
+        return this.entries.stats().evictionCount();
+    }
+
+    /**
+     * Returns the approximate number of cached results.
+     *
+     * @return the cache size
+     */
+    public long size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Drops every cached result.
+     */
+    public void invalidateAll() {
+        this.entries.invalidateAll();
+    }
+
+    /**
+     * Looks up the result of parsing {@code input} with {@code type}.
+     *
+     * @param type  the argument type
+     * @param input the remaining input
+     * @return the cached entry, or {@code null} if there is none
+     */
+    @API(status = API.Status.INTERNAL)
+    public @Nullable Entry get(final @NonNull ArgumentType<?> type, final @NonNull String input) {
+        return this.entries.getIfPresent(new Key(type, input));
+    }
+
+    /**
+     * Stores the result of parsing {@code input} with {@code type}.
+     *
+     * @param type     the argument type
+     * @param input    the remaining input
+     * @param value    the parsed value, which must not be handed out to anything that may mutate it
+     * @param consumed the number of characters consumed by the parse
+     */
+    @API(status = API.Status.INTERNAL)
+    public void put(final @NonNull ArgumentType<?> type, final @NonNull String input, final @NonNull Object value, final int consumed) {
+        this.entries.put(new Key(type, input), new Entry(value, consumed));
+    }
+
+    // argument types rarely override equals, in which case they are compared by identity
+    private record Key(ArgumentType<?> type, String input) {
+    }
+
+    /**
+     * A cached parse result.
+     *
+     * @param value    the parsed value
+     * @param consumed the number of characters consumed by the parse
+     */
+    @API(status = API.Status.INTERNAL)
+    public record Entry(@NonNull Object value, int consumed) {
+    }
+}
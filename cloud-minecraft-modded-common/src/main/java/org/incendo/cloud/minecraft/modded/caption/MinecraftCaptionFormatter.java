@@ -23,15 +23,16 @@
 //
 package org.incendo.cloud.minecraft.modded.caption;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.caption.Caption;
 import org.incendo.cloud.caption.CaptionFormatter;
 import org.incendo.cloud.caption.CaptionVariable;
@@ -39,7 +40,11 @@ import org.incendo.cloud.caption.CaptionVariable;
 import static java.util.Objects.requireNonNull;
 
 public final class MinecraftCaptionFormatter<C> implements CaptionFormatter<C, Component> {
+    // captions normally come from a fixed set of providers, anything beyond this is compiled on every use
+    private static final int MAX_CACHED_TEMPLATES = 512;
+
     private final Pattern pattern;
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
 
     /**
      * Creates a new {@link MinecraftCaptionFormatter}.
@@ -64,27 +69,77 @@ public final class MinecraftCaptionFormatter<C> implements CaptionFormatter<C, C
         final @NonNull String caption,
         final @NonNull List<@NonNull CaptionVariable> variables
     ) {
-        final Map<String, CaptionVariable> byKey = variables.stream().collect(Collectors.toMap(CaptionVariable::key, Function.identity()));
-        final MutableComponent component = Component.empty();
+        return this.template(caption).format(variables);
+    }
+
+    private Template template(final String caption) {
+        final Template cached = this.templates.get(caption);
+        if (cached != null) {
+            return cached;
+        }
+        final Template compiled = Template.compile(this.pattern, caption);
+        if (this.templates.size() < MAX_CACHED_TEMPLATES) {
+            this.templates.putIfAbsent(caption, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * A caption split into literal text and placeholders, with {@code literals} always one longer than
+     * {@code placeholders}.
+     */
+    private record Template(String[] literals, String[] placeholders, String[] rawPlaceholders) {
+
+        static Template compile(final Pattern pattern, final String caption) {
+            final List<String> literals = new ArrayList<>();
+            final List<String> placeholders = new ArrayList<>();
+            final List<String> rawPlaceholders = new ArrayList<>();
+            final Matcher matcher = pattern.matcher(caption);
+            int literalStart = 0;
+            while (matcher.find()) {
+                literals.add(caption.substring(literalStart, matcher.start()));
+                placeholders.add(matcher.group(1));
+                rawPlaceholders.add(matcher.group(0));
+                literalStart = matcher.end();
+            }
+            literals.add(caption.substring(literalStart));
+            return new Template(
+                literals.toArray(new String[0]),
+                placeholders.toArray(new String[0]),
+                rawPlaceholders.toArray(new String[0])
+            );
+        }
 
-        final String[] split = this.pattern.split(caption);
-        final Matcher matcher = this.pattern.matcher(caption);
-        for (int i = 0; i < split.length; i++) {
-            component.append(split[i]);
-            if (i != split.length - 1) {
-                if (!matcher.find()) {
-                    throw new IllegalStateException();
+        Component format(final List<CaptionVariable> variables) {
+            final MutableComponent component = Component.empty();
+            for (int i = 0; i < this.placeholders.length; i++) {
+                if (!this.literals[i].isEmpty()) {
+                    component.append(this.literals[i]);
                 }
-                final String name = matcher.group(1);
-                final CaptionVariable variable = byKey.getOrDefault(name, CaptionVariable.of(name, matcher.group(0)));
-                if (variable instanceof MinecraftVariable mc) {
+                final @Nullable CaptionVariable variable = find(variables, this.placeholders[i]);
+                if (variable == null) {
+                    component.append(this.rawPlaceholders[i]);
+                } else if (variable instanceof MinecraftVariable mc) {
                     component.append(mc.componentValue());
                 } else {
                     component.append(variable.value());
                 }
             }
+            final String trailing = this.literals[this.placeholders.length];
+            if (!trailing.isEmpty()) {
+                component.append(trailing);
+            }
+            return component;
         }
 
-        return component;
+        // captions have a handful of variables at most, a scan beats building a map
+        private static @Nullable CaptionVariable find(final List<CaptionVariable> variables, final String key) {
+            for (final CaptionVariable variable : variables) {
+                if (variable.key().equals(key)) {
+                    return variable;
+                }
+            }
+            return null;
+        }
     }
 }
@@ -48,6 +48,36 @@ public final class ModdedCaptionKeys {
     public static final Caption ARGUMENT_PARSE_FAILURE_TEAM_UNKNOWN = of(
         "argument.parse.failure.team.unknown"
     );
+    /**
+     * Variables: none
+     */
+    public static final Caption EXCEPTION_COMMAND_QUEUE_FULL = of(
+        "exception.command_queue_full"
+    );
+    /**
+     * Variables: {@code <completed>}, {@code <total>}, {@code <ticks>}
+     */
+    public static final Caption TASK_PROGRESS = of(
+        "task.progress"
+    );
+    /**
+     * Variables: {@code <completed>}, {@code <total>}, {@code <ticks>}
+     */
+    public static final Caption TASK_COMPLETED = of(
+        "task.completed"
+    );
+    /**
+     * Variables: {@code <completed>}, {@code <total>}, {@code <ticks>}
+     */
+    public static final Caption TASK_CANCELLED = of(
+        "task.cancelled"
+    );
+    /**
+     * Variables: {@code <completed>}, {@code <total>}, {@code <ticks>}
+     */
+    public static final Caption TASK_TIMED_OUT = of(
+        "task.timed_out"
+    );
 
     private ModdedCaptionKeys() {
     }
@@ -45,6 +45,31 @@ public final class ModdedDefaultCaptionsProvider<C> extends DelegatingCaptionPro
      */
     public static final String ARGUMENT_PARSE_FAILURE_TEAM_UNKNOWN = "Could not find any team named '<input>'!";
 
+    /**
+     * Default caption for {@link ModdedCaptionKeys#EXCEPTION_COMMAND_QUEUE_FULL}
+     */
+    public static final String EXCEPTION_COMMAND_QUEUE_FULL = "The server is busy running other commands, please try again shortly.";
+
+    /**
+     * Default caption for {@link ModdedCaptionKeys#TASK_PROGRESS}
+     */
+    public static final String TASK_PROGRESS = "Working... <completed>/<total> steps done.";
+
+    /**
+     * Default caption for {@link ModdedCaptionKeys#TASK_COMPLETED}
+     */
+    public static final String TASK_COMPLETED = "Done, ran <completed> steps over <ticks> ticks.";
+
+    /**
+     * Default caption for {@link ModdedCaptionKeys#TASK_CANCELLED}
+     */
+    public static final String TASK_CANCELLED = "Cancelled after <completed>/<total> steps.";
+
+    /**
+     * Default caption for {@link ModdedCaptionKeys#TASK_TIMED_OUT}
+     */
+    public static final String TASK_TIMED_OUT = "Stopped after <completed>/<total> steps, as it ran for longer than <ticks> ticks.";
+
     private static final CaptionProvider<?> PROVIDER = CaptionProvider.constantProvider()
         .putCaption(
             ModdedCaptionKeys.ARGUMENT_PARSE_FAILURE_REGISTRY_ENTRY_UNKNOWN_ENTRY,
@@ -52,6 +77,21 @@ public final class ModdedDefaultCaptionsProvider<C> extends DelegatingCaptionPro
         ).putCaption(
             ModdedCaptionKeys.ARGUMENT_PARSE_FAILURE_TEAM_UNKNOWN,
             ARGUMENT_PARSE_FAILURE_TEAM_UNKNOWN
+        ).putCaption(
+            ModdedCaptionKeys.EXCEPTION_COMMAND_QUEUE_FULL,
+            EXCEPTION_COMMAND_QUEUE_FULL
+        ).putCaption(
+            ModdedCaptionKeys.TASK_PROGRESS,
+            TASK_PROGRESS
+        ).putCaption(
+            ModdedCaptionKeys.TASK_COMPLETED,
+            TASK_COMPLETED
+        ).putCaption(
+            ModdedCaptionKeys.TASK_CANCELLED,
+            TASK_CANCELLED
+        ).putCaption(
+            ModdedCaptionKeys.TASK_TIMED_OUT,
+            TASK_TIMED_OUT
         )
         .build();
 
@@ -28,6 +28,7 @@ import net.minecraft.commands.arguments.coordinates.ColumnPosArgument;
 import net.minecraft.commands.arguments.coordinates.Vec2Argument;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.phys.Vec3;
+import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -38,6 +39,8 @@ public interface Coordinates {
     /**
      * Resolve a position from the parsed coordinates.
      *
+     * <p>Coordinates created by cloud parsers resolve once and return the same instance afterwards.</p>
+     *
      * @return position
      */
     @NonNull Vec3 position();
@@ -45,10 +48,94 @@ public interface Coordinates {
     /**
      * Resolve a block position from the parsed coordinates.
      *
+     * <p>Coordinates created by cloud parsers resolve once and return the same instance afterwards.</p>
+     *
      * @return block position
      */
     @NonNull BlockPos blockPos();
 
+    /**
+     * Resolve the x coordinate of {@link #position()}.
+     *
+     * @return x coordinate
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    default double x() {
+        return this.position().x;
+    }
+
+    /**
+     * Resolve the y coordinate of {@link #position()}.
+     *
+     * @return y coordinate
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    default double y() {
+        return this.position().y;
+    }
+
+    /**
+     * Resolve the z coordinate of {@link #position()}.
+     *
+     * @return z coordinate
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    default double z() {
+        return this.position().z;
+    }
+
+    /**
+     * Resolve the position into the first three elements of {@code destination}, in x, y, z order.
+     *
+     * @param destination the array to write to
+     * @return {@code destination}
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    default double @NonNull [] position(final double @NonNull [] destination) {
+        final Vec3 position = this.position();
+        destination[0] = position.x;
+        destination[1] = position.y;
+        destination[2] = position.z;
+        return destination;
+    }
+
+    /**
+     * Resolve the x coordinate of {@link #blockPos()}.
+     *
+     * @return block x coordinate
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    default int blockX() {
+        return this.blockPos().getX();
+    }
+
+    /**
+     * Resolve the y coordinate of {@link #blockPos()}.
+     *
+     * @return block y coordinate
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    default int blockY() {
+        return this.blockPos().getY();
+    }
+
+    /**
+     * Resolve the z coordinate of {@link #blockPos()}.
+     *
+     * @return block z coordinate
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    default int blockZ() {
+        return this.blockPos().getZ();
+    }
+
     /**
      * Get whether the x coordinate is relative.
      *
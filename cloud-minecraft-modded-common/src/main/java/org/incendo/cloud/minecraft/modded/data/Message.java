@@ -36,7 +36,12 @@ public interface Message {
     /**
      * Get the collection of entities mentioned in this message.
      *
+     * <p>Unless the parser was asked to resolve selectors only once, the mentions are looked up on first access and
+     * memoized, throwing a {@link org.incendo.cloud.minecraft.modded.parser.SelectorResolutionException} if that
+     * fails.</p>
+     *
      * @return the mentioned entities
+     * @see org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers#messageParser(boolean)
      */
     @NonNull Collection<Entity> mentionedEntities();
 
@@ -53,9 +53,12 @@ public interface Selector<V> {
     /**
      * Get the value of this selector.
      *
-     * <p>A successfully parsed selector must match one or more values.</p>
+     * <p>A successfully parsed selector must match one or more values. Selectors that were not resolved while parsing
+     * are resolved on first access instead, and throw a
+     * {@link org.incendo.cloud.minecraft.modded.parser.SelectorResolutionException} if they fail to.</p>
      *
      * @return all matched entities
+     * @see org.incendo.cloud.minecraft.modded.parser.SelectorResolution
      */
     @NonNull Collection<V> values();
 
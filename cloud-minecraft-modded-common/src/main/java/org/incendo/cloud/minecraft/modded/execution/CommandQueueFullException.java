@@ -0,0 +1,62 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.execution;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.context.CommandContext;
+
+/**
+ * Thrown when a command is dispatched while the queue of a {@link TickBudgetedExecutionCoordinator} is full.
+ *
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class CommandQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = -3162271583507146281L;
+
+    private final transient CommandContext<?> commandContext;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param commandContext the context of the rejected command
+     */
+    @API(status = API.Status.INTERNAL)
+    public CommandQueueFullException(final @NonNull CommandContext<?> commandContext) {
+        // rejections happen in bursts, and the trace would only point into the coordinator
+        super("The command queue is full", null, false, false);
+        this.commandContext = commandContext;
+    }
+
+    /**
+     * Returns the context of the rejected command.
+     *
+     * @return the command context
+     */
+    public @NonNull CommandContext<?> commandContext() {
+        return this.commandContext;
+    }
+}
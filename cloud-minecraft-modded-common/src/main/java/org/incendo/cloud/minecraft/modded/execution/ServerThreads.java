@@ -0,0 +1,157 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.execution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import net.minecraft.client.Minecraft;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.thread.BlockableEventLoop;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
+import org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers;
+
+/**
+ * Hands work from command handlers over to the thread owning the world of the command source.
+ *
+ * <p>That is the server thread for server commands, and the client thread for client commands. Handlers running off
+ * that thread, for example under a {@link VirtualThreadExecutionCoordinator}, must use these methods for anything that
+ * reads or modifies the world. When already on the right thread, the work runs in place and the returned future is
+ * complete, so it is safe to join.</p>
+ *
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class ServerThreads {
+
+    private ServerThreads() {
+    }
+
+    /**
+     * Computes a value on the thread owning the world of the command source.
+     *
+     * @param context the command context
+     * @param action  computes the value
+     * @param <T>     value type
+     * @return a future completing with the value, or exceptionally if {@code action} throws
+     */
+    public static <T> @NonNull CompletableFuture<T> onServerThread(
+        final @NonNull CommandContext<?> context,
+        final @NonNull Supplier<? extends T> action
+    ) {
+        final @Nullable BlockableEventLoop<?> eventLoop = eventLoop(context);
+        if (eventLoop == null || eventLoop.isSameThread()) {
+            try {
+                return CompletableFuture.completedFuture(action.get());
+            } catch (final RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        if (stopped(eventLoop)) {
+            return CompletableFuture.failedFuture(stoppedException());
+        }
+        return CompletableFuture.supplyAsync(action, eventLoop);
+    }
+
+    /**
+     * Runs an action on the thread owning the world of the command source.
+     *
+     * @param context the command context
+     * @param action  the action
+     * @return a future completing once the action ran, or exceptionally if it throws or the server has stopped
+     */
+    public static @NonNull CompletableFuture<Void> onServerThread(
+        final @NonNull CommandContext<?> context,
+        final @NonNull Runnable action
+    ) {
+        return onServerThread(context, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns an executor running tasks on the thread owning the world of the command source.
+     *
+     * <p>Unlike {@link #onServerThread(CommandContext, Supplier)}, the executor always schedules tasks, even when
+     * called from that thread. Once the server has stopped, it rejects tasks submitted from other threads.</p>
+     *
+     * @param context the command context
+     * @return the executor
+     */
+    public static @NonNull Executor executor(final @NonNull CommandContext<?> context) {
+        final @Nullable BlockableEventLoop<?> eventLoop = eventLoop(context);
+        if (eventLoop == null) {
+            return Runnable::run;
+        }
+        if (!(eventLoop instanceof MinecraftServer)) {
+            return eventLoop;
+        }
+        return task -> {
+            if (!eventLoop.isSameThread() && stopped(eventLoop)) {
+                throw new RejectedExecutionException(stoppedException());
+            }
+            eventLoop.execute(task);
+        };
+    }
+
+    // a stopped server runs submitted work inline on the submitting thread, off the server thread
+    private static boolean stopped(final BlockableEventLoop<?> eventLoop) {
+        return eventLoop instanceof MinecraftServer server && !server.isRunning();
+    }
+
+    private static IllegalStateException stoppedException() {
+        return new IllegalStateException("Cannot hand work over to the server thread, the server is not running");
+    }
+
+    private static @Nullable BlockableEventLoop<?> eventLoop(final CommandContext<?> context) {
+        final @Nullable SharedSuggestionProvider source = context.getOrDefault(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER, null);
+        if (source == null) {
+            return null;
+        }
+        if (!VanillaArgumentParsers.isClientSource(source)) {
+            // null for sources created without a server
+            return ((CommandSourceStack) source).getServer();
+        }
+        return Client.eventLoop();
+    }
+
+    // keeps client classes from loading on dedicated servers
+    private static final class Client {
+
+        private Client() {
+        }
+
+        static @Nullable BlockableEventLoop<?> eventLoop() {
+            return Minecraft.getInstance();
+        }
+    }
+}
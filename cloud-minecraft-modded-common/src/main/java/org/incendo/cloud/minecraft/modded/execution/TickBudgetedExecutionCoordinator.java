@@ -0,0 +1,287 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.execution;
+
+import com.mojang.logging.LogUtils;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.execution.CommandResult;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.SuggestionMapper;
+import org.incendo.cloud.suggestion.Suggestions;
+import org.slf4j.Logger;
+
+/**
+ * An execution coordinator that parses and executes commands on the server thread, at the end of each tick, spending
+ * no more than a fixed budget of time per tick.
+ *
+ * <p>Commands are queued when they are dispatched, and the queue is drained by the server command managers once per
+ * tick. Work that does not fit into the budget of a tick carries over to the next one, in the order it was queued.
+ * At least one task runs every tick, so a budget too small for a single command slows the queue down rather than
+ * stalling it. Once {@link #maxQueuedCommands()} commands are waiting, further commands fail with a
+ * {@link CommandQueueFullException} instead of growing the queue. Commands still queued when the server stops fail
+ * with a {@link CancellationException}.</p>
+ *
+ * <p>A coordinator may be shared by several server command managers. Only the first of them drains it, so the budget
+ * is shared by all of their commands rather than granted once per manager.</p>
+ *
+ * <p>Suggestions are not queued, as clients wait on them. Commands dispatched by functions and command blocks finish
+ * after the function does, so this coordinator suits player-facing commands better than those used in datapacks.</p>
+ *
+ * @param <C> command sender type
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class TickBudgetedExecutionCoordinator<C> implements ExecutionCoordinator<C> {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private final long tickBudgetNanos;
+    private final int maxQueuedCommands;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Set<CompletableFuture<CommandResult<C>>> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean serverHooksClaimed = new AtomicBoolean();
+    private final ExecutionCoordinator<C> delegate;
+    private final AtomicInteger queuedCommands = new AtomicInteger();
+    private final AtomicInteger peakQueuedCommands = new AtomicInteger();
+    private final AtomicLong rejectedCommands = new AtomicLong();
+    private final AtomicLong carriedOverTicks = new AtomicLong();
+    private volatile long lastDrainNanos;
+
+    private TickBudgetedExecutionCoordinator(final long tickBudgetNanos, final int maxQueuedCommands) {
+        this.tickBudgetNanos = tickBudgetNanos;
+        this.maxQueuedCommands = maxQueuedCommands;
+        this.delegate = ExecutionCoordinator.<C>builder()
+            .parsingExecutor(this.tasks::add)
+            .executionSchedulingExecutor(this.tasks::add)
+            .suggestionsExecutor(ExecutionCoordinator.nonSchedulingExecutor())
+            .build();
+    }
+
+    /**
+     * Creates a new coordinator.
+     *
+     * <p>A tick lasts 50 milliseconds, and vanilla needs most of that for itself. A budget of a few milliseconds is
+     * usually plenty for commands.</p>
+     *
+     * @param tickBudget        how much time may be spent on commands every tick
+     * @param maxQueuedCommands how many commands may wait for their turn before new ones are rejected
+     * @param <C>               command sender type
+     * @return the coordinator
+     */
+    public static <C> @NonNull TickBudgetedExecutionCoordinator<C> create(
+        final @NonNull Duration tickBudget,
+        final int maxQueuedCommands
+    ) {
+        Objects.requireNonNull(tickBudget, "tickBudget");
+        if (tickBudget.isNegative() || tickBudget.isZero()) {
+            throw new IllegalArgumentException("The tick budget must be positive, got " + tickBudget);
+        }
+        if (maxQueuedCommands < 1) {
+            throw new IllegalArgumentException("At least one command must be allowed to queue, got " + maxQueuedCommands);
+        }
+        return new TickBudgetedExecutionCoordinator<>(tickBudget.toNanos(), maxQueuedCommands);
+    }
+
+    @Override
+    public @NonNull CompletableFuture<CommandResult<C>> coordinateExecution(
+        final @NonNull CommandTree<C> commandTree,
+        final @NonNull CommandContext<C> commandContext,
+        final @NonNull CommandInput commandInput
+    ) {
+        final int queued = this.queuedCommands.incrementAndGet();
+        if (queued > this.maxQueuedCommands) {
+            this.queuedCommands.decrementAndGet();
+            this.rejectedCommands.incrementAndGet();
+            return CompletableFuture.failedFuture(new CommandQueueFullException(commandContext));
+        }
+        this.peakQueuedCommands.accumulateAndGet(queued, Math::max);
+        // completed by the delegate, or failed by stop() if the server stops first
+        final CompletableFuture<CommandResult<C>> result = new CompletableFuture<>();
+        this.pending.add(result);
+        result.whenComplete(($, $$) -> {
+            this.pending.remove(result);
+            this.queuedCommands.decrementAndGet();
+        });
+        this.delegate.coordinateExecution(commandTree, commandContext, commandInput).whenComplete((value, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public <S extends Suggestion> @NonNull CompletableFuture<Suggestions<C, S>> coordinateSuggestions(
+        final @NonNull CommandTree<C> commandTree,
+        final @NonNull CommandContext<C> context,
+        final @NonNull CommandInput commandInput,
+        final @NonNull SuggestionMapper<S> mapper
+    ) {
+        return this.delegate.coordinateSuggestions(commandTree, context, commandInput, mapper);
+    }
+
+    /**
+     * Runs queued work until the budget of a tick is spent or the queue is empty.
+     *
+     * <p>Called by the server command managers at the end of every tick, and must only be called on the server
+     * thread.</p>
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public void drain() {
+        final long start = System.nanoTime();
+        final long deadline = start + this.tickBudgetNanos;
+        Runnable task = this.tasks.poll();
+        while (task != null) {
+            try {
+                task.run();
+            } catch (final RuntimeException e) {
+                // futures capture their own failures, this only guards the tick against misbehaving tasks
+                LOGGER.error("Unhandled exception while running a queued command task", e);
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            task = this.tasks.poll();
+        }
+        this.lastDrainNanos = System.nanoTime() - start;
+        if (!this.tasks.isEmpty()) {
+            this.carriedOverTicks.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops the queued work and fails the commands it belonged to, for when the server stops.
+     *
+     * <p>Must only be called on the server thread.</p>
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public void stop() {
+        this.tasks.clear();
+        for (final CompletableFuture<CommandResult<C>> future : this.pending) {
+            future.completeExceptionally(new CancellationException("The server stopped before the command completed"));
+        }
+    }
+
+    /**
+     * Claims the server tick and stopping hooks of this coordinator for the calling manager.
+     *
+     * @return {@code true} if the caller should register the hooks, {@code false} if another manager already did
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public boolean claimServerHooks() {
+        return this.serverHooksClaimed.compareAndSet(false, true);
+    }
+
+    /**
+     * Returns how much time may be spent on commands every tick.
+     *
+     * @return the tick budget
+     */
+    public @NonNull Duration tickBudget() {
+        return Duration.ofNanos(this.tickBudgetNanos);
+    }
+
+    /**
+     * Returns how many commands may wait for their turn before new ones are rejected.
+     *
+     * @return the maximum queue depth
+     */
+    public int maxQueuedCommands() {
+        return this.maxQueuedCommands;
+    }
+
+    /**
+     * Returns the number of commands that have been accepted but not yet completed.
+     *
+     * @return the current queue depth
+     */
+    public int queuedCommands() {
+        return this.queuedCommands.get();
+    }
+
+    /**
+     * Returns the highest number of commands that were queued at the same time.
+     *
+     * @return the peak queue depth
+     */
+    public int peakQueuedCommands() {
+        return this.peakQueuedCommands.get();
+    }
+
+    /**
+     * Returns the number of commands that were rejected because the queue was full.
+     *
+     * @return the number of rejected commands
+     */
+    public long rejectedCommands() {
+        return this.rejectedCommands.get();
+    }
+
+    /**
+     * Returns the number of ticks that ended with work left over for the next tick.
+     *
+     * @return the number of carried over ticks
+     */
+    public long carriedOverTicks() {
+        return this.carriedOverTicks.get();
+    }
+
+    /**
+     * Returns how long the most recent tick spent on commands.
+     *
+     * <p>May exceed the budget by the duration of the last task that ran.</p>
+     *
+     * @return the duration of the last drain
+     */
+    public @NonNull Duration lastDrainDuration() {
+        return Duration.ofNanos(this.lastDrainNanos);
+    }
+
+    /**
+     * Resets the peak queue depth, rejection and carry-over counters.
+     */
+    public void resetMetrics() {
+        this.peakQueuedCommands.set(this.queuedCommands.get());
+        this.rejectedCommands.set(0);
+        this.carriedOverTicks.set(0);
+    }
+}
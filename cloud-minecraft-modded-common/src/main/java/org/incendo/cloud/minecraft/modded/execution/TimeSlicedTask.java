@@ -0,0 +1,222 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.execution;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.caption.Caption;
+import org.incendo.cloud.caption.CaptionFormatter;
+import org.incendo.cloud.caption.CaptionVariable;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.minecraft.modded.caption.MinecraftCaptionFormatter;
+import org.incendo.cloud.minecraft.modded.caption.ModdedCaptionKeys;
+import org.incendo.cloud.minecraft.modded.data.MinecraftTime;
+
+/**
+ * A command's work, split into units which a {@link TimeSlicedTaskScheduler} runs over as many ticks as needed.
+ *
+ * <p>The source that ran the command is told about the progress of the task, and about its completion or cancellation,
+ * through the {@link ModdedCaptionKeys} captions of the command manager.</p>
+ *
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class TimeSlicedTask {
+
+    private static final MinecraftCaptionFormatter<?> FORMATTER = new MinecraftCaptionFormatter<>();
+    private static final String UNKNOWN_TOTAL = "?";
+
+    private final CommandContext<?> context;
+    private final CommandSourceStack source;
+    private final Iterator<? extends Runnable> units;
+    private final long totalUnits;
+    private final @Nullable MinecraftTime timeLimit;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile long completedUnits;
+    private volatile boolean cancelled;
+    private volatile boolean stoppedEarly;
+    private long ticks;
+
+    TimeSlicedTask(
+        final CommandContext<?> context,
+        final CommandSourceStack source,
+        final Iterator<? extends Runnable> units,
+        final long totalUnits,
+        final @Nullable MinecraftTime timeLimit
+    ) {
+        this.context = context;
+        this.source = source;
+        this.units = units;
+        this.totalUnits = totalUnits;
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * Requests the task to stop. The unit currently running, if any, still completes.
+     *
+     * <p>The source is told about the cancellation the next time the scheduler looks at the task, which then
+     * completes.</p>
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Returns a future completing once the task stops, or exceptionally with the exception thrown by a unit.
+     *
+     * <p>Cancelled tasks complete normally, as the source has already been told about the cancellation. Handlers may
+     * return this future from {@link org.incendo.cloud.execution.CommandExecutionHandler#executeFuture}, so failing
+     * units are reported like any other failing handler.</p>
+     *
+     * @return the completion future
+     */
+    public @NonNull CompletableFuture<Void> completion() {
+        return this.completion;
+    }
+
+    /**
+     * Returns whether the task has finished, successfully or not.
+     *
+     * @return whether the task is done
+     */
+    public boolean isDone() {
+        return this.completion.isDone();
+    }
+
+    /**
+     * Returns whether the task was stopped before all units ran, either by {@link #cancel()} or by its time limit.
+     *
+     * @return whether the task was cancelled
+     */
+    public boolean cancelled() {
+        return this.stoppedEarly;
+    }
+
+    /**
+     * Returns the number of units that ran so far.
+     *
+     * @return the completed units
+     */
+    public long completedUnits() {
+        return this.completedUnits;
+    }
+
+    /**
+     * Returns the number of units of the task, or {@code -1} if unknown.
+     *
+     * @return the total units
+     */
+    public long totalUnits() {
+        return this.totalUnits;
+    }
+
+    /**
+     * Returns the source that ran the command.
+     *
+     * @return the source
+     */
+    public @NonNull CommandSourceStack source() {
+        return this.source;
+    }
+
+    // server thread only from here on
+
+    boolean cancelledOrExpired() {
+        if (this.cancelled) {
+            this.finish(ModdedCaptionKeys.TASK_CANCELLED, true);
+            return true;
+        }
+        if (this.timeLimit != null && this.ticks >= this.timeLimit.ticksLong()) {
+            this.finish(ModdedCaptionKeys.TASK_TIMED_OUT, true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs the next unit.
+     *
+     * @return whether the task is done
+     */
+    boolean runNext() {
+        if (!this.units.hasNext()) {
+            this.finish(ModdedCaptionKeys.TASK_COMPLETED, false);
+            return true;
+        }
+        try {
+            this.units.next().run();
+        } catch (final RuntimeException e) {
+            this.completion.completeExceptionally(e);
+            return true;
+        }
+        this.completedUnits++;
+        return false;
+    }
+
+    void endTick(final long progressIntervalTicks) {
+        this.ticks++;
+        if (progressIntervalTicks > 0 && this.ticks % progressIntervalTicks == 0) {
+            this.source.sendSuccess(() -> this.message(ModdedCaptionKeys.TASK_PROGRESS), false);
+        }
+    }
+
+    void abort() {
+        this.finish(ModdedCaptionKeys.TASK_CANCELLED, true);
+    }
+
+    private void finish(final Caption caption, final boolean stoppedEarly) {
+        this.stoppedEarly = stoppedEarly;
+        if (stoppedEarly) {
+            this.source.sendFailure(this.message(caption));
+        } else {
+            this.source.sendSuccess(() -> this.message(caption), false);
+        }
+        this.completion.complete(null);
+    }
+
+    private Component message(final Caption caption) {
+        return format(
+            this.context,
+            caption,
+            CaptionVariable.of("completed", Long.toString(this.completedUnits)),
+            CaptionVariable.of("total", this.totalUnits < 0 ? UNKNOWN_TOTAL : Long.toString(this.totalUnits)),
+            CaptionVariable.of("ticks", Long.toString(this.ticks))
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> Component format(
+        final CommandContext<C> context,
+        final Caption caption,
+        final CaptionVariable... variables
+    ) {
+        // the formatter never looks at the recipient
+        return context.formatCaption((CaptionFormatter<C, Component>) (CaptionFormatter<?, Component>) FORMATTER, caption, variables);
+    }
+}
@@ -0,0 +1,217 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.execution;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
+import org.incendo.cloud.minecraft.modded.data.MinecraftTime;
+import org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers;
+
+/**
+ * Spreads long-running command work over as many server ticks as it takes, spending no more than a fixed budget of
+ * time on it per tick.
+ *
+ * <p>Handlers split their work into units, such as a slice of a region to fill or a batch of entities to purge, and
+ * submit them instead of running everything at once. Every tick, the scheduler takes turns running one unit of each
+ * task until the budget is spent, so a single large task cannot starve the others. At least one unit runs every tick.
+ * Units always run on the server thread, whatever thread the task was submitted from.</p>
+ *
+ * <p>Schedulers only run once registered with a server command manager.</p>
+ *
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class TimeSlicedTaskScheduler {
+
+    private final long tickBudgetNanos;
+    private final long progressIntervalTicks;
+    private final Queue<TimeSlicedTask> submitted = new ConcurrentLinkedQueue<>();
+    private final Set<TimeSlicedTask> tasks = ConcurrentHashMap.newKeySet();
+    // server thread only
+    private final Deque<TimeSlicedTask> active = new ArrayDeque<>();
+
+    private TimeSlicedTaskScheduler(final long tickBudgetNanos, final long progressIntervalTicks) {
+        this.tickBudgetNanos = tickBudgetNanos;
+        this.progressIntervalTicks = progressIntervalTicks;
+    }
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param tickBudget       how much time may be spent running units every tick, shared by all tasks
+     * @param progressInterval how often sources are told about the progress of their tasks, or zero to never tell them
+     * @return the scheduler
+     */
+    public static @NonNull TimeSlicedTaskScheduler create(
+        final @NonNull Duration tickBudget,
+        final @NonNull MinecraftTime progressInterval
+    ) {
+        Objects.requireNonNull(tickBudget, "tickBudget");
+        Objects.requireNonNull(progressInterval, "progressInterval");
+        if (tickBudget.isNegative() || tickBudget.isZero()) {
+            throw new IllegalArgumentException("The tick budget must be positive, got " + tickBudget);
+        }
+        if (progressInterval.ticksLong() < 0) {
+            throw new IllegalArgumentException("The progress interval must not be negative, got " + progressInterval);
+        }
+        return new TimeSlicedTaskScheduler(tickBudget.toNanos(), progressInterval.ticksLong());
+    }
+
+    /**
+     * Submits a task with a known number of units, without a time limit.
+     *
+     * @param context the context of the command submitting the task
+     * @param units   the units of work
+     * @return the task
+     * @throws IllegalStateException if the command was not run by a server source
+     */
+    public @NonNull TimeSlicedTask submit(
+        final @NonNull CommandContext<?> context,
+        final @NonNull Collection<? extends Runnable> units
+    ) {
+        return this.submit(context, units.iterator(), units.size(), null);
+    }
+
+    /**
+     * Submits a task.
+     *
+     * <p>The iterator is only advanced on the server thread, so it may produce units lazily from the world.</p>
+     *
+     * @param context    the context of the command submitting the task
+     * @param units      the units of work
+     * @param totalUnits the number of units, or {@code -1} if unknown, used to report progress
+     * @param timeLimit  how long the task may run for before it is cancelled, or {@code null} for no limit
+     * @return the task
+     * @throws IllegalStateException if the command was not run by a server source
+     */
+    public @NonNull TimeSlicedTask submit(
+        final @NonNull CommandContext<?> context,
+        final @NonNull Iterator<? extends Runnable> units,
+        final long totalUnits,
+        final @Nullable MinecraftTime timeLimit
+    ) {
+        final SharedSuggestionProvider source = context.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER);
+        if (!(source instanceof CommandSourceStack commandSourceStack) || VanillaArgumentParsers.isClientSource(source)) {
+            throw new IllegalStateException("Time-sliced tasks can only be submitted by server commands");
+        }
+        if (timeLimit != null && timeLimit.ticksLong() <= 0) {
+            throw new IllegalArgumentException("The time limit must be positive, got " + timeLimit);
+        }
+        final TimeSlicedTask task = new TimeSlicedTask(context, commandSourceStack, units, totalUnits, timeLimit);
+        this.tasks.add(task);
+        this.submitted.add(task);
+        return task;
+    }
+
+    /**
+     * Returns the tasks that have been submitted and are not done yet.
+     *
+     * @return a snapshot of the tasks
+     */
+    public @NonNull List<@NonNull TimeSlicedTask> tasks() {
+        return List.copyOf(this.tasks);
+    }
+
+    /**
+     * Cancels every task that is not done yet.
+     */
+    public void cancelAll() {
+        for (final TimeSlicedTask task : this.tasks) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Runs units of the submitted tasks until the budget of a tick is spent or no units are left.
+     *
+     * <p>Called by the server command managers at the end of every tick, and must only be called on the server
+     * thread.</p>
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public void tick() {
+        for (TimeSlicedTask task = this.submitted.poll(); task != null; task = this.submitted.poll()) {
+            this.active.addLast(task);
+        }
+        if (this.active.isEmpty()) {
+            return;
+        }
+        final Iterator<TimeSlicedTask> iterator = this.active.iterator();
+        while (iterator.hasNext()) {
+            final TimeSlicedTask task = iterator.next();
+            if (task.cancelledOrExpired()) {
+                iterator.remove();
+                this.tasks.remove(task);
+            }
+        }
+
+        final long deadline = System.nanoTime() + this.tickBudgetNanos;
+        while (!this.active.isEmpty()) {
+            final TimeSlicedTask task = this.active.pollFirst();
+            if (task.runNext()) {
+                this.tasks.remove(task);
+            } else {
+                this.active.addLast(task);
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        for (final TimeSlicedTask task : this.active) {
+            task.endTick(this.progressIntervalTicks);
+        }
+    }
+
+    /**
+     * Cancels every task at once, telling their sources, for when the server stops.
+     *
+     * <p>Must only be called on the server thread.</p>
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public void stop() {
+        for (TimeSlicedTask task = this.submitted.poll(); task != null; task = this.submitted.poll()) {
+            this.active.addLast(task);
+        }
+        for (final TimeSlicedTask task : this.active) {
+            task.abort();
+        }
+        this.active.clear();
+        this.tasks.clear();
+    }
+}
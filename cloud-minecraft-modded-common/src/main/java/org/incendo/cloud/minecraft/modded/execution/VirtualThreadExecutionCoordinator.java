@@ -0,0 +1,100 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.execution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.execution.CommandResult;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.SuggestionMapper;
+import org.incendo.cloud.suggestion.Suggestions;
+
+/**
+ * An execution coordinator that parses and executes every command on its own virtual thread.
+ *
+ * <p>Handlers are free to block on I/O without holding up the server thread, and without a thread pool of their own.
+ * Anything touching the world must be handed over with {@link ServerThreads#onServerThread(CommandContext,
+ * java.util.function.Supplier)}. The vanilla argument parsers already hand their world lookups over on their own:
+ * entity selectors, including those inside messages, are resolved on the server thread whatever their
+ * {@link org.incendo.cloud.minecraft.modded.parser.SelectorResolution}, and teams are looked up on the server thread
+ * unless the scoreboard has a thread-safe index of them. Coordinates only read the immutable source and resolve on any
+ * thread. Handing work over fails, rather than blocking, once the server stops.</p>
+ *
+ * <p>Suggestions are computed on the calling thread, as with the simple coordinator.</p>
+ *
+ * @param <C> command sender type
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class VirtualThreadExecutionCoordinator<C> implements ExecutionCoordinator<C> {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("cloud-command-", 0).factory()
+    );
+    private final ExecutionCoordinator<C> delegate;
+
+    private VirtualThreadExecutionCoordinator() {
+        this.delegate = ExecutionCoordinator.<C>builder()
+            .parsingExecutor(this.executor)
+            .executionSchedulingExecutor(this.executor)
+            .suggestionsExecutor(ExecutionCoordinator.nonSchedulingExecutor())
+            .build();
+    }
+
+    /**
+     * Creates a new coordinator.
+     *
+     * @param <C> command sender type
+     * @return the coordinator
+     */
+    public static <C> @NonNull VirtualThreadExecutionCoordinator<C> create() {
+        return new VirtualThreadExecutionCoordinator<>();
+    }
+
+    @Override
+    public @NonNull CompletableFuture<CommandResult<C>> coordinateExecution(
+        final @NonNull CommandTree<C> commandTree,
+        final @NonNull CommandContext<C> commandContext,
+        final @NonNull CommandInput commandInput
+    ) {
+        return this.delegate.coordinateExecution(commandTree, commandContext, commandInput);
+    }
+
+    @Override
+    public <S extends Suggestion> @NonNull CompletableFuture<Suggestions<C, S>> coordinateSuggestions(
+        final @NonNull CommandTree<C> commandTree,
+        final @NonNull CommandContext<C> context,
+        final @NonNull CommandInput commandInput,
+        final @NonNull SuggestionMapper<S> mapper
+    ) {
+        return this.delegate.coordinateSuggestions(commandTree, context, commandInput, mapper);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Execution coordinators suited to modded Minecraft, and handing work over to the server thread.
+ */
+package org.incendo.cloud.minecraft.modded.execution;
@@ -23,27 +23,31 @@
 //
 package org.incendo.cloud.minecraft.modded.internal;
 
+import com.google.common.collect.MapMaker;
 import com.mojang.brigadier.arguments.ArgumentType;
-import java.util.Collections;
-import java.util.Map;
-import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import net.minecraft.commands.CommandBuildContext;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.CommandManager;
 
 @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
 public final class ContextualArgumentTypeProvider<V> implements Supplier<ArgumentType<V>> {
 
     private static final ThreadLocal<ThreadLocalContext> CONTEXT = new ThreadLocal<>();
-    private static final Map<CommandManager<?>, Set<ContextualArgumentTypeProvider<?>>> INSTANCES =
-        new WeakHashMap<>();
+    // weak, identity-keyed and concurrent; only touched when a build context is exposed, never from get()
+    private static final ConcurrentMap<CommandManager<?>, ManagerState> STATES = new MapMaker()
+        .weakKeys()
+        .makeMap();
+    // builds in progress on any thread, lets get() skip the thread local outside of builds
+    private static final AtomicInteger ACTIVE_BUILDS = new AtomicInteger();
 
     private final Function<CommandBuildContext, ArgumentType<V>> provider;
-    private volatile ArgumentType<V> provided;
+    private volatile @Nullable Cached<V> cached;
 
     /**
      * Temporarily expose a command build context to providers called from this thread.
@@ -59,30 +63,66 @@ public final class ContextualArgumentTypeProvider<V> implements Supplier<Argumen
         final boolean resetExisting,
         final Runnable action
     ) {
-        final ThreadLocalContext context = new ThreadLocalContext(commandManager, ctx);
-        CONTEXT.set(context);
+        final ManagerState state = STATES.computeIfAbsent(commandManager, $ -> new ManagerState());
+        state.latestContext = ctx;
+        if (resetExisting) {
+            // invalidates every provider cached under this manager without visiting them
+            state.generation.incrementAndGet();
+        }
 
+        ACTIVE_BUILDS.incrementAndGet();
+        CONTEXT.set(new ThreadLocalContext(state, ctx));
         try {
-            if (resetExisting) {
-                synchronized (INSTANCES) {
-                    for (final ContextualArgumentTypeProvider<?> contextualArgumentTypeProvider : context.instances()) {
-                        contextualArgumentTypeProvider.provided = null;
-                    }
-                }
-            }
-
             action.run();
         } finally {
             CONTEXT.remove();
+            ACTIVE_BUILDS.decrementAndGet();
         }
     }
 
-    private record ThreadLocalContext(
-        CommandManager<?> commandManager,
-        CommandBuildContext commandBuildContext
-    ) {
-        private Set<ContextualArgumentTypeProvider<?>> instances() {
-            return INSTANCES.computeIfAbsent(this.commandManager, $ -> Collections.newSetFromMap(new WeakHashMap<>()));
+    /**
+     * Runs an action within a build and reports whether it requested any contextual argument type, meaning that
+     * anything it built depends on the exposed build context.
+     *
+     * @param action the action
+     * @return whether a contextual argument type was requested
+     * @throws IllegalStateException if no build context is exposed to this thread
+     */
+    public static boolean tracksBuildContextUse(final Runnable action) {
+        final ThreadLocalContext ctx = CONTEXT.get();
+        if (ctx == null) {
+            throw new IllegalStateException("Build context use can only be tracked within withBuildContext");
+        }
+        final boolean outer = ctx.used;
+        ctx.used = false;
+        try {
+            action.run();
+            return ctx.used;
+        } finally {
+            ctx.used |= outer;
+        }
+    }
+
+    private static final class ThreadLocalContext {
+        private final ManagerState state;
+        private final CommandBuildContext commandBuildContext;
+        private boolean used;
+
+        private ThreadLocalContext(final ManagerState state, final CommandBuildContext commandBuildContext) {
+            this.state = state;
+            this.commandBuildContext = commandBuildContext;
+        }
+    }
+
+    private static final class ManagerState {
+        private final AtomicInteger generation = new AtomicInteger();
+        private volatile @Nullable CommandBuildContext latestContext;
+    }
+
+    private record Cached<V>(ManagerState state, int generation, ArgumentType<V> type) {
+        private boolean valid(final @Nullable ThreadLocalContext ctx) {
+            // within a build, only a type computed for the building manager will do
+            return (ctx == null || ctx.state == this.state) && this.generation == this.state.generation.get();
         }
     }
 
@@ -97,27 +137,51 @@ public final class ContextualArgumentTypeProvider<V> implements Supplier<Argumen
 
     @Override
     public ArgumentType<V> get() {
-        final ThreadLocalContext ctx = CONTEXT.get();
+        final Cached<V> cached = this.cached;
+        if (cached != null && ACTIVE_BUILDS.get() == 0 && cached.valid(null)) {
+            return cached.type();
+        }
+        return this.getWithinBuild(cached);
+    }
 
+    private ArgumentType<V> getWithinBuild(final @Nullable Cached<V> cached) {
+        final ThreadLocalContext ctx = CONTEXT.get();
         if (ctx != null) {
-            synchronized (INSTANCES) {
-                ctx.instances().add(this);
-            }
+            ctx.used = true;
         }
+        if (cached != null && cached.valid(ctx)) {
+            return cached.type();
+        }
+        return this.compute(ctx);
+    }
 
-        ArgumentType<V> provided = this.provided;
-        if (provided == null) {
-            synchronized (this) {
-                if (this.provided == null) {
-                    if (ctx == null) {
-                        throw new IllegalStateException(
-                            "No build context was available while trying to compute an argument type");
-                    }
-                    provided = this.provider.apply(ctx.commandBuildContext);
-                    this.provided = provided;
-                }
-            }
+    private synchronized ArgumentType<V> compute(final @Nullable ThreadLocalContext ctx) {
+        final Cached<V> cached = this.cached;
+        if (cached != null && cached.valid(ctx)) {
+            return cached.type();
         }
-        return provided;
+
+        final @Nullable ManagerState state;
+        final @Nullable CommandBuildContext buildContext;
+        if (ctx != null) {
+            state = ctx.state;
+            buildContext = ctx.commandBuildContext;
+        } else if (cached != null) {
+            // invalidated by a reload of the owning manager, but used outside of a build
+            state = cached.state();
+            buildContext = state.latestContext;
+        } else {
+            state = null;
+            buildContext = null;
+        }
+        if (state == null || buildContext == null) {
+            throw new IllegalStateException("No build context was available while trying to compute an argument type");
+        }
+
+        // read the generation before computing, a concurrent reset then leaves this entry stale rather than wrong
+        final int generation = state.generation.get();
+        final ArgumentType<V> type = this.provider.apply(buildContext);
+        this.cached = new Cached<>(state, generation, type);
+        return type;
     }
 }
@@ -0,0 +1,147 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.ClickEvent;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.HoverEvent;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Renders bounded stack traces for error message hovers, reusing the rendered events for repeated failures.
+ *
+ * <p>The limits are read from the {@code cloud.hover_stacktrace.max_frames} and {@code cloud.hover_stacktrace.max_chars}
+ * system properties.</p>
+ */
+final class HoverStacktraces {
+
+    private static final int MAX_FRAMES = Math.max(1, Integer.getInteger("cloud.hover_stacktrace.max_frames", 32));
+    private static final int MAX_CHARS = Math.max(256, Integer.getInteger("cloud.hover_stacktrace.max_chars", 8192));
+    private static final int MAX_CAUSES = 8;
+
+    private static final Cache<Fingerprint, Events> RENDERED = CacheBuilder.newBuilder()
+        .maximumSize(64)
+        .build();
+
+    private HoverStacktraces() {
+    }
+
+    /**
+     * Returns the hover and click events showing the stack trace of a throwable.
+     *
+     * @param throwable the throwable
+     * @return the events
+     */
+    static Events events(final Throwable throwable) {
+        final Fingerprint fingerprint = Fingerprint.of(throwable, Collections.newSetFromMap(new IdentityHashMap<>()));
+        final Events cached = RENDERED.getIfPresent(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        final String stackTrace = render(fingerprint);
+        final Events events = new Events(
+            new HoverEvent.ShowText(
+                Component.literal(stackTrace)
+                    .append(ModdedExceptionHandler.NEWLINE)
+                    .append(Component.literal("    Click to copy")
+                        .withStyle(s2 -> s2.withColor(ChatFormatting.GRAY).withItalic(true)))
+            ),
+            new ClickEvent.CopyToClipboard(stackTrace)
+        );
+        RENDERED.put(fingerprint, events);
+        return events;
+    }
+
+    private static String render(final Fingerprint fingerprint) {
+        final StringBuilder builder = new StringBuilder();
+        @Nullable Fingerprint current = fingerprint;
+        boolean first = true;
+        while (current != null && builder.length() < MAX_CHARS) {
+            if (!first) {
+                builder.append("Caused by: ");
+            }
+            first = false;
+            builder.append(current.type());
+            if (current.message() != null) {
+                builder.append(": ").append(current.message());
+            }
+            builder.append('\n');
+            for (final StackTraceElement frame : current.frames()) {
+                builder.append("    at ").append(frame).append('\n');
+            }
+            if (current.omittedFrames() > 0) {
+                builder.append("    ... ").append(current.omittedFrames()).append(" more\n");
+            }
+            current = current.cause();
+        }
+        if (builder.length() > MAX_CHARS) {
+            builder.setLength(MAX_CHARS);
+            builder.append("\n    ...");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The events decorating an error message.
+     *
+     * @param hover hover event
+     * @param click click event
+     */
+    record Events(HoverEvent hover, ClickEvent click) {
+    }
+
+    /**
+     * Everything of a throwable chain that ends up in the rendered trace.
+     */
+    private record Fingerprint(
+        String type,
+        @Nullable String message,
+        List<StackTraceElement> frames,
+        int omittedFrames,
+        @Nullable Fingerprint cause
+    ) {
+
+        static Fingerprint of(final Throwable throwable, final Set<Throwable> seen) {
+            seen.add(throwable);
+            final StackTraceElement[] trace = throwable.getStackTrace();
+            final int frames = Math.min(trace.length, MAX_FRAMES);
+            final Throwable cause = throwable.getCause();
+            return new Fingerprint(
+                throwable.getClass().getName(),
+                throwable.getLocalizedMessage(),
+                Arrays.asList(Arrays.copyOf(trace, frames)),
+                trace.length - frames,
+                cause == null || seen.size() >= MAX_CAUSES || seen.contains(cause) ? null : of(cause, seen)
+            );
+        }
+    }
+}
@@ -0,0 +1,98 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.brigadier.arguments.ArgumentType;
+import java.util.function.UnaryOperator;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.brigadier.parser.WrappedBrigadierParser;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.minecraft.modded.ParseResultCache;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ArgumentParser;
+import org.incendo.cloud.parser.MappedArgumentParser;
+import org.incendo.cloud.suggestion.SuggestionProvider;
+
+/**
+ * Answers parses of a wrapped Brigadier argument type from the {@link ParseResultCache} when possible.
+ *
+ * <p>Only suitable for argument types whose result depends on nothing but the input and the build context. Failures
+ * are never cached, as they carry the context they were raised in. The wrapped parser stays reachable through
+ * {@link #baseParser()}, so it maps to the same Brigadier argument type.</p>
+ *
+ * @param <C> command sender type
+ * @param <T> value type
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class MemoizingBrigadierParser<C, T> implements MappedArgumentParser<C, T, T> {
+
+    private final WrappedBrigadierParser<C, T> base;
+    private final UnaryOperator<T> copier;
+
+    /**
+     * Creates a new memoizing parser.
+     *
+     * @param base   the wrapped parser
+     * @param copier copies mutable results, so cached values never escape, or the identity for immutable ones
+     */
+    public MemoizingBrigadierParser(final @NonNull WrappedBrigadierParser<C, T> base, final @NonNull UnaryOperator<T> copier) {
+        this.base = base;
+        this.copier = copier;
+    }
+
+    @Override
+    public @NonNull ArgumentParser<C, T> baseParser() {
+        return this.base;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NonNull ArgumentParseResult<@NonNull T> parse(
+        final @NonNull CommandContext<@NonNull C> commandContext,
+        final @NonNull CommandInput commandInput
+    ) {
+        final ParseResultCache cache = ParseResultCache.instance();
+        final ArgumentType<T> type = this.base.nativeArgumentType();
+        final String input = commandInput.remainingInput();
+        final ParseResultCache.Entry cached = cache.get(type, input);
+        if (cached != null) {
+            commandInput.moveCursor(cached.consumed());
+            return ArgumentParseResult.success(this.copier.apply((T) cached.value()));
+        }
+
+        final int start = commandInput.cursor();
+        final ArgumentParseResult<T> result = this.base.parse(commandContext, commandInput);
+        if (result.parsedValue().isPresent()) {
+            cache.put(type, input, this.copier.apply(result.parsedValue().get()), commandInput.cursor() - start);
+        }
+        return result;
+    }
+
+    @Override
+    public @NonNull SuggestionProvider<C> suggestionProvider() {
+        return this.base.suggestionProvider();
+    }
+}
@@ -25,19 +25,15 @@ package org.incendo.cloud.minecraft.modded.internal;
 
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.logging.LogUtils;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.SharedSuggestionProvider;
-import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.ComponentUtils;
-import net.minecraft.network.chat.HoverEvent;
-import net.minecraft.network.chat.MutableComponent;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -55,8 +51,13 @@ import org.incendo.cloud.exception.NoSuchCommandException;
 import org.incendo.cloud.exception.handling.ExceptionContext;
 import org.incendo.cloud.exception.handling.ExceptionHandler;
 import org.incendo.cloud.exception.parsing.ParserException;
+import org.incendo.cloud.minecraft.modded.CommandFailureLogger;
+import org.incendo.cloud.minecraft.modded.CommandFailureReason;
 import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
 import org.incendo.cloud.minecraft.modded.caption.MinecraftVariable;
+import org.incendo.cloud.minecraft.modded.caption.ModdedCaptionKeys;
+import org.incendo.cloud.minecraft.modded.execution.CommandQueueFullException;
+import org.incendo.cloud.minecraft.modded.parser.SelectorResolutionException;
 import org.incendo.cloud.util.TypeUtils;
 import org.slf4j.Logger;
 
@@ -117,88 +118,144 @@ public interface ModdedExceptionHandler<C, S extends SharedSuggestionProvider, T
         final Function<S, String> getName,
         final CaptionFormatter<C, Component> captionFormatter
     ) {
-        final RegisterContext<C, S> ctx = new RegisterContext<>(commandManager);
+        final RegisterContext<C, S> ctx = new RegisterContext<>(commandManager, sendError);
         ctx.registerHandler(Throwable.class, (source, exceptionContext) -> {
-            sendError.accept(source, decorateHoverStacktrace(
+            ctx.fail(source, exceptionContext, CommandFailureReason.UNEXPECTED, () -> decorateHoverStacktrace(
                 commandManager,
                 exceptionContext.context().formatCaption(captionFormatter, StandardCaptionKeys.EXCEPTION_UNEXPECTED),
                 exceptionContext.exception(),
                 exceptionContext.context().sender()
             ));
-            LOGGER.warn("Error occurred while executing command for user {}", getName.apply(source), exceptionContext.exception());
+            CommandFailureLogger.instance().log(
+                LOGGER,
+                exceptionContext.context(),
+                getName.apply(source),
+                exceptionContext.exception()
+            );
         });
         ctx.registerHandler(CommandExecutionException.class, (source, exceptionContext) -> {
-            sendError.accept(source, decorateHoverStacktrace(
+            ctx.fail(source, exceptionContext, CommandFailureReason.UNEXPECTED, () -> decorateHoverStacktrace(
                 commandManager,
                 exceptionContext.context().formatCaption(captionFormatter, StandardCaptionKeys.EXCEPTION_UNEXPECTED),
                 exceptionContext.exception().getCause(),
                 exceptionContext.context().sender()
             ));
-            LOGGER.warn(
-                "Error occurred while executing command for user {}",
+            CommandFailureLogger.instance().log(
+                LOGGER,
+                exceptionContext.context(),
                 getName.apply(source),
                 exceptionContext.exception().getCause()
             );
         });
         ctx.registerHandler(ArgumentParseException.class, (source, exceptionContext) -> {
-            final Component msg;
-            if (exceptionContext.exception().getCause() instanceof CommandSyntaxException cse) {
-                msg = ComponentUtils.fromMessage(cse.getRawMessage());
-            } else if (exceptionContext.exception().getCause() instanceof ParserException parserException) {
-                msg = parserException.formatCaption(captionFormatter);
-            } else {
-                msg = Component.literal(exceptionContext.exception().getCause().getMessage());
-            }
-            sendError.accept(source, exceptionContext.context().formatCaption(
+            ctx.fail(source, exceptionContext, CommandFailureReason.INVALID_ARGUMENT, () -> {
+                final Component msg;
+                if (exceptionContext.exception().getCause() instanceof CommandSyntaxException cse) {
+                    msg = ComponentUtils.fromMessage(cse.getRawMessage());
+                } else if (exceptionContext.exception().getCause() instanceof ParserException parserException) {
+                    msg = parserException.formatCaption(captionFormatter);
+                } else {
+                    msg = Component.literal(exceptionContext.exception().getCause().getMessage());
+                }
+                return exceptionContext.context().formatCaption(
+                    captionFormatter,
+                    StandardCaptionKeys.EXCEPTION_INVALID_ARGUMENT,
+                    MinecraftVariable.of("cause", Component.literal("")
+                        .append(ComponentUtils.fromMessage(msg))
+                        .withStyle(ChatFormatting.GRAY))
+                );
+            });
+        });
+        ctx.registerHandler(SelectorResolutionException.class, (source, exceptionContext) -> {
+            ctx.fail(source, exceptionContext, CommandFailureReason.INVALID_ARGUMENT, () -> exceptionContext.context().formatCaption(
                 captionFormatter,
                 StandardCaptionKeys.EXCEPTION_INVALID_ARGUMENT,
                 MinecraftVariable.of("cause", Component.literal("")
-                    .append(ComponentUtils.fromMessage(msg))
+                    .append(ComponentUtils.fromMessage(exceptionContext.exception().syntaxException().getRawMessage()))
                     .withStyle(ChatFormatting.GRAY))
             ));
         });
+        // selectors resolved after parsing fail from within the handler
+        commandManager.exceptionController().registerHandler(
+            CommandExecutionException.class,
+            ExceptionHandler.unwrappingHandler(SelectorResolutionException.class)
+        );
         ctx.registerHandler(NoSuchCommandException.class, (source, exceptionContext) -> {
-            sendError.accept(source, exceptionContext.context().formatCaption(
+            ctx.fail(source, exceptionContext, CommandFailureReason.NO_SUCH_COMMAND, () -> exceptionContext.context().formatCaption(
                 captionFormatter,
                 StandardCaptionKeys.EXCEPTION_NO_SUCH_COMMAND
             ));
         });
         ctx.registerHandler(NoPermissionException.class, (source, exceptionContext) -> {
-            sendError.accept(source, exceptionContext.context().formatCaption(
+            ctx.fail(source, exceptionContext, CommandFailureReason.NO_PERMISSION, () -> exceptionContext.context().formatCaption(
                 captionFormatter,
                 StandardCaptionKeys.EXCEPTION_NO_PERMISSION
             ));
         });
         ctx.registerHandler(InvalidCommandSenderException.class, (source, exceptionContext) -> {
-            final boolean multiple = exceptionContext.exception().requiredSenderTypes().size() > 1;
-            final String expected = multiple
-                ? exceptionContext.exception().requiredSenderTypes().stream().map(TypeUtils::simpleName).collect(Collectors.joining(", "))
-                : TypeUtils.simpleName(exceptionContext.exception().requiredSenderTypes().iterator().next());
-            sendError.accept(source, exceptionContext.context().formatCaption(
-                captionFormatter,
-                multiple ? StandardCaptionKeys.EXCEPTION_INVALID_SENDER_LIST : StandardCaptionKeys.EXCEPTION_INVALID_SENDER,
-                CaptionVariable.of("actual", exceptionContext.context().sender().getClass().getSimpleName()),
-                CaptionVariable.of("expected", expected)
-            ));
+            ctx.fail(source, exceptionContext, CommandFailureReason.INVALID_SENDER, () -> {
+                final boolean multiple = exceptionContext.exception().requiredSenderTypes().size() > 1;
+                final String expected = multiple
+                    ? exceptionContext.exception().requiredSenderTypes().stream().map(TypeUtils::simpleName).collect(Collectors.joining(", "))
+                    : TypeUtils.simpleName(exceptionContext.exception().requiredSenderTypes().iterator().next());
+                return exceptionContext.context().formatCaption(
+                    captionFormatter,
+                    multiple ? StandardCaptionKeys.EXCEPTION_INVALID_SENDER_LIST : StandardCaptionKeys.EXCEPTION_INVALID_SENDER,
+                    CaptionVariable.of("actual", exceptionContext.context().sender().getClass().getSimpleName()),
+                    CaptionVariable.of("expected", expected)
+                );
+            });
         });
         ctx.registerHandler(InvalidSyntaxException.class, (source, exceptionContext) -> {
-            sendError.accept(source, exceptionContext.context().formatCaption(
+            ctx.fail(source, exceptionContext, CommandFailureReason.INVALID_SYNTAX, () -> exceptionContext.context().formatCaption(
                 captionFormatter,
                 StandardCaptionKeys.EXCEPTION_INVALID_SYNTAX,
                 MinecraftVariable.of("syntax", Component.literal(String.format("/%s", exceptionContext.exception().correctSyntax()))
                     .withStyle(style -> style.withColor(ChatFormatting.GRAY)))
             ));
         });
+        ctx.registerHandler(CommandQueueFullException.class, (source, exceptionContext) -> {
+            ctx.fail(source, exceptionContext, CommandFailureReason.QUEUE_FULL, () -> exceptionContext.context().formatCaption(
+                captionFormatter,
+                ModdedCaptionKeys.EXCEPTION_COMMAND_QUEUE_FULL
+            ));
+        });
     }
 
     @API(status = API.Status.INTERNAL)
-    record RegisterContext<C, S extends SharedSuggestionProvider>(CommandManager<C> manager) {
+    record RegisterContext<C, S extends SharedSuggestionProvider>(CommandManager<C> manager, BiConsumer<S, Component> sendError) {
         private <T extends Throwable> void registerHandler(
             final Class<T> exceptionType,
             final ModdedExceptionHandler<C, S, T> handler
         ) {
             this.manager.exceptionController().registerHandler(exceptionType, handler);
         }
+
+        private void fail(
+            final S source,
+            final ExceptionContext<C, ?> exceptionContext,
+            final CommandFailureReason reason,
+            final Supplier<Component> message
+        ) {
+            exceptionContext.context().store(ModdedCommandContextKeys.FAILURE_REASON, reason);
+            // don't build a message nobody will see
+            if (displaysFailures(source)) {
+                this.sendError.accept(source, message.get());
+            }
+        }
+    }
+
+    /**
+     * Returns whether failures sent to a source are displayed anywhere.
+     *
+     * <p>Sources with suppressed output, such as those of functions and of command blocks not tracking their output,
+     * drop all failure messages.</p>
+     *
+     * @param source source
+     * @return whether failures are displayed
+     */
+    private static boolean displaysFailures(final SharedSuggestionProvider source) {
+        return !(source instanceof CommandSourceStackAccess access) || access.displaysFailures();
     }
 
     private static <C> Component decorateHoverStacktrace(
@@ -211,19 +268,9 @@ public interface ModdedExceptionHandler<C, S extends SharedSuggestionProvider, T
             return input;
         }
 
-        final MutableComponent result = input.copy();
-        final StringWriter writer = new StringWriter();
-        cause.printStackTrace(new PrintWriter(writer));
-        final String stackTrace = writer.toString().replace("\t", "    ");
-        return result.withStyle(style -> style
-            .withHoverEvent(new HoverEvent.ShowText(
-                Component.literal(stackTrace)
-                    .append(NEWLINE)
-                    .append(Component.literal("    Click to copy")
-                        .withStyle(s2 -> s2.withColor(ChatFormatting.GRAY).withItalic(true)))
-            ))
-            .withClickEvent(new ClickEvent.CopyToClipboard(
-                stackTrace
-            )));
+        final HoverStacktraces.Events events = HoverStacktraces.events(cause);
+        return input.copy().withStyle(style -> style
+            .withHoverEvent(events.hover())
+            .withClickEvent(events.click()));
     }
 }
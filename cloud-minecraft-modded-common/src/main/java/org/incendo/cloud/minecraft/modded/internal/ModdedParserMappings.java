@@ -33,9 +33,13 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import net.minecraft.advancements.predicates.MinMaxBounds;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.arguments.AngleArgument;
@@ -71,7 +75,10 @@ import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.brigadier.CloudBrigadierManager;
 import org.incendo.cloud.brigadier.parser.WrappedBrigadierParser;
 import org.incendo.cloud.minecraft.modded.ModdedParserParameters;
+import org.incendo.cloud.minecraft.modded.ModdedSetting;
+import org.incendo.cloud.minecraft.modded.ModdedSettingsHolder;
 import org.incendo.cloud.minecraft.modded.annotation.specifier.Center;
+import org.incendo.cloud.minecraft.modded.annotation.specifier.ResolveSelector;
 import org.incendo.cloud.minecraft.modded.data.Coordinates;
 import org.incendo.cloud.minecraft.modded.data.Message;
 import org.incendo.cloud.minecraft.modded.data.MinecraftTime;
@@ -80,6 +87,8 @@ import org.incendo.cloud.minecraft.modded.data.MultiplePlayerSelector;
 import org.incendo.cloud.minecraft.modded.data.SingleEntitySelector;
 import org.incendo.cloud.minecraft.modded.data.SinglePlayerSelector;
 import org.incendo.cloud.minecraft.modded.parser.RegistryEntryParser;
+import org.incendo.cloud.minecraft.modded.parser.RegistryHolderParser;
+import org.incendo.cloud.minecraft.modded.parser.SelectorResolution;
 import org.incendo.cloud.minecraft.modded.parser.TeamParser;
 import org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers;
 import org.incendo.cloud.parser.ParserParameters;
@@ -122,9 +131,14 @@ public final class ModdedParserMappings {
 
         /* Wrapped/Constant Brigadier types, native value type */
         registerConstantNativeParserSupplier(manager, TeamColor.class, TeamColorArgument.teamColor());
-        registerConstantNativeParserSupplier(manager, CompoundTag.class, CompoundTagArgument.compoundTag());
-        registerConstantNativeParserSupplier(manager, Tag.class, NbtTagArgument.nbtTag());
-        registerConstantNativeParserSupplier(manager, NbtPathArgument.NbtPath.class, NbtPathArgument.nbtPath());
+        registerMemoizableConstantParserSupplier(manager, CompoundTag.class, CompoundTagArgument.compoundTag(), CompoundTag::copy);
+        registerMemoizableConstantParserSupplier(manager, Tag.class, NbtTagArgument.nbtTag(), Tag::copy);
+        registerMemoizableConstantParserSupplier(
+            manager,
+            NbtPathArgument.NbtPath.class,
+            NbtPathArgument.nbtPath(),
+            UnaryOperator.identity()
+        );
         registerConstantNativeParserSupplier(manager, ObjectiveCriteria.class, ObjectiveCriteriaArgument.criteria());
         registerConstantNativeParserSupplier(manager, OperationArgument.Operation.class, OperationArgument.operation());
         registerConstantNativeParserSupplier(manager, AngleArgument.SingleAngle.class, AngleArgument.angle());
@@ -133,9 +147,9 @@ public final class ModdedParserMappings {
         registerConstantNativeParserSupplier(manager, EntityAnchorArgument.Anchor.class, EntityAnchorArgument.anchor());
         registerConstantNativeParserSupplier(manager, MinMaxBounds.Ints.class, RangeArgument.intRange());
         registerConstantNativeParserSupplier(manager, MinMaxBounds.Doubles.class, RangeArgument.floatRange());
-        registerContextualNativeParserSupplier(manager, ParticleOptions.class, ParticleArgument::particle);
-        registerContextualNativeParserSupplier(manager, ItemInput.class, ItemArgument::item);
-        registerContextualNativeParserSupplier(manager, BlockPredicateArgument.Result.class, BlockPredicateArgument::blockPredicate);
+        registerMemoizableContextualParserSupplier(manager, ParticleOptions.class, ParticleArgument::particle);
+        registerMemoizableContextualParserSupplier(manager, ItemInput.class, ItemArgument::item);
+        registerMemoizableContextualParserSupplier(manager, BlockPredicateArgument.Result.class, BlockPredicateArgument::blockPredicate);
 
         /* Wrapped/Constant Brigadier types, mapped value type */
         registerConstantNativeParserSupplier(manager, MessageArgument.Message.class, MessageArgument.message());
@@ -186,24 +200,36 @@ public final class ModdedParserMappings {
         );
 
         // Entity selectors
+        manager.parserRegistry().registerAnnotationMapper(
+            ResolveSelector.class,
+            (annotation, type) -> ParserParameters.single(ModdedParserParameters.SELECTOR_RESOLUTION, annotation.value())
+        );
         manager.parserRegistry().registerParserSupplier(
             TypeToken.get(SinglePlayerSelector.class),
-            params -> VanillaArgumentParsers.<C>singlePlayerSelectorParser().parser()
+            params -> VanillaArgumentParsers.<C>singlePlayerSelectorParser(selectorResolution(manager, params)).parser()
         );
         manager.parserRegistry().registerParserSupplier(
             TypeToken.get(MultiplePlayerSelector.class),
-            params -> VanillaArgumentParsers.<C>multiplePlayerSelectorParser().parser()
+            params -> VanillaArgumentParsers.<C>multiplePlayerSelectorParser(selectorResolution(manager, params)).parser()
         );
         manager.parserRegistry().registerParserSupplier(
             TypeToken.get(SingleEntitySelector.class),
-            params -> VanillaArgumentParsers.<C>singleEntitySelectorParser().parser()
+            params -> VanillaArgumentParsers.<C>singleEntitySelectorParser(selectorResolution(manager, params)).parser()
         );
         manager.parserRegistry().registerParserSupplier(
             TypeToken.get(MultipleEntitySelector.class),
-            params -> VanillaArgumentParsers.<C>multipleEntitySelectorParser().parser()
+            params -> VanillaArgumentParsers.<C>multipleEntitySelectorParser(selectorResolution(manager, params)).parser()
         );
     }
 
+    private static SelectorResolution selectorResolution(final CommandManager<?> manager, final ParserParameters params) {
+        final SelectorResolution fallback = manager instanceof ModdedSettingsHolder holder
+            && holder.moddedSettings().get(ModdedSetting.EAGER_SELECTOR_RESOLUTION)
+            ? SelectorResolution.EAGER
+            : SelectorResolution.ON_ACCESS;
+        return params.get(ModdedParserParameters.SELECTOR_RESOLUTION, fallback);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static <C, S> void registerRegistryEntryMappings(
         final @NonNull CommandManager<C> manager,
@@ -216,60 +242,131 @@ public final class ModdedParserMappings {
                 builder.to(argument -> ResourceKeyArgument.key((ResourceKey) argument.registryKey()));
             }
         );
-
-        /* Find all fields of RegistryKey<? extends Registry<?>> and register those */
-        /* This only works for vanilla registries really, we'll have to do other things for non-vanilla ones */
-        final Set<Class<?>> seenClasses = new HashSet<>();
-        /* Some registries have types that are too generic... we'll skip those for now.
-         * Eventually, these could be resolved by using ParserParameters in some way? */
-        seenClasses.add(Identifier.class);
-        seenClasses.add(Codec.class);
-        seenClasses.add(String.class); // avoid pottery pattern registry overriding default string parser
-        for (final Field field : Registries.class.getDeclaredFields()) {
-            if ((field.getModifiers() & MOD_PUBLIC_STATIC_FINAL) != MOD_PUBLIC_STATIC_FINAL) {
-                continue;
-            }
-            if (!field.getType().equals(ResourceKey.class)) {
-                continue;
+        brigadier.registerMapping(
+            new TypeToken<RegistryHolderParser<C, ?>>() {
+            },
+            builder -> {
+                builder.to(argument -> ResourceKeyArgument.key((ResourceKey) argument.registryKey()));
             }
+        );
 
-            final Type generic = field.getGenericType(); /* RegistryKey<? extends Registry<?>> */
-            if (!(generic instanceof ParameterizedType parameterizedType)) {
-                continue;
-            }
+        for (final RegistryParserTable.Entry entry : RegistryParserTable.ENTRIES) {
+            final ResourceKey<?> key = entry.key();
+            manager.parserRegistry().registerParserSupplier(
+                entry.valueType(),
+                params -> new RegistryEntryParser(key)
+            );
+        }
+    }
 
-            Type registryType = parameterizedType.getActualTypeArguments()[0];
-            while (registryType instanceof WildcardType) {
-                registryType = ((WildcardType) registryType).getUpperBounds()[0];
-            }
+    /**
+     * The registry entry types found in {@link Registries}, scanned once per JVM on first use.
+     *
+     * <p>The scan relies on reflection and generic type resolution, which was repeated for every manager before.
+     * The fields of {@link Registries} never change at runtime, so every manager can share its result.</p>
+     */
+    private static final class RegistryParserTable {
 
-            if (!(registryType instanceof ParameterizedType)) { /* expected: Registry<V> */
-                continue;
-            }
+        static final List<Entry> ENTRIES = scan();
 
-            final ResourceKey<?> key;
-            try {
-                key = (ResourceKey<?>) field.get(null);
-            } catch (final IllegalAccessException ex) {
-                LOGGER.warn("Failed to access value of registry key in field {} of type {}", field.getName(), generic, ex);
-                continue;
-            }
+        private RegistryParserTable() {
+        }
+
+        private static List<Entry> scan() {
+            /* Find all fields of RegistryKey<? extends Registry<?>> and register those */
+            /* This only works for vanilla registries really, we'll have to do other things for non-vanilla ones */
+            final List<Entry> entries = new ArrayList<>();
+            final Set<Class<?>> seenClasses = new HashSet<>();
+            /* Some registries have types that are too generic... we'll skip those for now.
+             * Eventually, these could be resolved by using ParserParameters in some way? */
+            seenClasses.add(Identifier.class);
+            seenClasses.add(Codec.class);
+            seenClasses.add(String.class); // avoid pottery pattern registry overriding default string parser
+            for (final Field field : Registries.class.getDeclaredFields()) {
+                if ((field.getModifiers() & MOD_PUBLIC_STATIC_FINAL) != MOD_PUBLIC_STATIC_FINAL) {
+                    continue;
+                }
+                if (!field.getType().equals(ResourceKey.class)) {
+                    continue;
+                }
+
+                final Type generic = field.getGenericType(); /* RegistryKey<? extends Registry<?>> */
+                if (!(generic instanceof ParameterizedType parameterizedType)) {
+                    continue;
+                }
 
-            final Type valueType = ((ParameterizedType) registryType).getActualTypeArguments()[0];
-            if (seenClasses.contains(GenericTypeReflector.erase(valueType))) {
-                LOGGER.debug("Encountered duplicate type in registry {}: type {}", key, valueType);
-                continue;
+                Type registryType = parameterizedType.getActualTypeArguments()[0];
+                while (registryType instanceof WildcardType) {
+                    registryType = ((WildcardType) registryType).getUpperBounds()[0];
+                }
+
+                if (!(registryType instanceof ParameterizedType)) { /* expected: Registry<V> */
+                    continue;
+                }
+
+                final ResourceKey<?> key;
+                try {
+                    key = (ResourceKey<?>) field.get(null);
+                } catch (final IllegalAccessException ex) {
+                    LOGGER.warn("Failed to access value of registry key in field {} of type {}", field.getName(), generic, ex);
+                    continue;
+                }
+
+                final Type valueType = ((ParameterizedType) registryType).getActualTypeArguments()[0];
+                if (seenClasses.contains(GenericTypeReflector.erase(valueType))) {
+                    LOGGER.debug("Encountered duplicate type in registry {}: type {}", key, valueType);
+                    continue;
+                }
+                seenClasses.add(GenericTypeReflector.erase(valueType));
+
+                entries.add(new Entry(TypeToken.get(valueType), key));
             }
-            seenClasses.add(GenericTypeReflector.erase(valueType));
+            return List.copyOf(entries);
+        }
 
-            /* and now, finally, we can register */
-            manager.parserRegistry().registerParserSupplier(
-                TypeToken.get(valueType),
-                params -> new RegistryEntryParser(key)
-            );
+        record Entry(TypeToken<?> valueType, ResourceKey<?> key) {
         }
     }
 
+    private static <C, T> void registerMemoizableConstantParserSupplier(
+        final @NonNull CommandManager<C> manager,
+        final @NonNull Class<T> type,
+        final @NonNull ArgumentType<T> argument,
+        final @NonNull UnaryOperator<T> copier
+    ) {
+        registerMemoizableParserSupplier(manager, type, () -> new WrappedBrigadierParser<>(argument), copier);
+    }
+
+    private static <C, T> void registerMemoizableContextualParserSupplier(
+        final @NonNull CommandManager<C> manager,
+        final @NonNull Class<T> type,
+        final @NonNull Function<CommandBuildContext, @NonNull ArgumentType<T>> argument
+    ) {
+        // the results of these types are immutable, and only depend on the input and the build context
+        registerMemoizableParserSupplier(
+            manager,
+            type,
+            () -> new WrappedBrigadierParser<>(new ContextualArgumentTypeProvider<>(argument)),
+            UnaryOperator.identity()
+        );
+    }
+
+    private static <C, T> void registerMemoizableParserSupplier(
+        final @NonNull CommandManager<C> manager,
+        final @NonNull Class<T> type,
+        final @NonNull Supplier<@NonNull WrappedBrigadierParser<C, T>> parserFactory,
+        final @NonNull UnaryOperator<T> copier
+    ) {
+        manager.parserRegistry().registerParserSupplier(TypeToken.get(type), params -> {
+            final WrappedBrigadierParser<C, T> parser = parserFactory.get();
+            // checked when the parser is created rather than at registration, so the setting can be enabled after construction
+            if (manager instanceof ModdedSettingsHolder holder && holder.moddedSettings().get(ModdedSetting.MEMOIZE_PARSE_RESULTS)) {
+                return new MemoizingBrigadierParser<>(parser, copier);
+            }
+            return parser;
+        });
+    }
+
     /**
      * Register a parser supplier for a brigadier type that has no options and whose output can be directly used.
      *
@@ -0,0 +1,320 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import io.leangen.geantyref.GenericTypeReflector;
+import io.leangen.geantyref.TypeToken;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import net.minecraft.advancements.predicates.MinMaxBounds;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.arguments.AngleArgument;
+import net.minecraft.commands.arguments.MessageArgument;
+import net.minecraft.commands.arguments.NbtPathArgument;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.Identifier;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.scores.criteria.ObjectiveCriteria;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.SenderMapper;
+import org.incendo.cloud.brigadier.CloudBrigadierCommand;
+import org.incendo.cloud.brigadier.CloudBrigadierManager;
+import org.incendo.cloud.brigadier.parser.WrappedBrigadierParser;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.context.ParsingContext;
+import org.incendo.cloud.exception.ArgumentParseException;
+import org.incendo.cloud.exception.CommandExecutionException;
+import org.incendo.cloud.exception.handling.ExceptionController;
+import org.incendo.cloud.execution.CommandResult;
+import org.incendo.cloud.minecraft.modded.ModdedSetting;
+import org.incendo.cloud.minecraft.modded.ModdedSettingsHolder;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ArgumentParser;
+import org.incendo.cloud.services.State;
+
+/**
+ * A Brigadier command executing cloud commands, which remembers how each line of a function was parsed.
+ *
+ * <p>Functions and command blocks hand the same input string to Brigadier every time they run. The first runs of an
+ * input go through the command tree like {@link org.incendo.cloud.brigadier.CloudBrigadierCommand} does. Once the same
+ * input runs a second time, the result is captured as a plan: immutable values parsed from the input alone are kept,
+ * and every other component is re-parsed from the input it consumed on later runs. Later runs skip the command tree and
+ * call the handler directly, on the calling thread. Whenever a plan does not apply, the command goes through the
+ * command tree again, so failures are reported as usual. Once preprocessing has run for a plan, the plan sees the
+ * command through, reporting its own failures, so preprocessors and re-parsed components never run twice for one
+ * execution.</p>
+ *
+ * <p>Commands using flags, and components re-parsed by asynchronous parsers, are never planned.</p>
+ *
+ * @param <C> command sender type
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class ParseOnceBrigadierCommand<C> implements com.mojang.brigadier.Command<CommandSourceStack> {
+
+    private static final String RAW_INPUT = "__raw_input__";
+    private static final String STANDARD_PARSER_PACKAGE = "org.incendo.cloud.parser.standard";
+
+    // weak keys compare by identity, so only inputs held by a function or command block ever hit
+    private final Cache<String, Plan<C>> plans = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+    private final Cache<String, Boolean> seen = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+    private final CommandManager<C> commandManager;
+    private final SenderMapper<CommandSourceStack, C> senderMapper;
+
+    /**
+     * Creates a new command.
+     *
+     * @param commandManager the command manager
+     * @param senderMapper   the sender mapper of the command manager
+     */
+    public ParseOnceBrigadierCommand(
+        final @NonNull CommandManager<C> commandManager,
+        final @NonNull SenderMapper<CommandSourceStack, C> senderMapper
+    ) {
+        this.commandManager = commandManager;
+        this.senderMapper = senderMapper;
+    }
+
+    /**
+     * Creates the executor of server commands for a manager, planning function lines if
+     * {@link ModdedSetting#PARSE_FUNCTION_COMMANDS_ONCE} is enabled.
+     *
+     * @param commandManager   the command manager
+     * @param senderMapper     the sender mapper of the command manager
+     * @param brigadierManager the Brigadier manager of the command manager
+     * @param <C>              command sender type
+     * @param <M>              command manager type
+     * @return the executor
+     */
+    public static <C, M extends CommandManager<C> & ModdedSettingsHolder>
+        com.mojang.brigadier.@NonNull Command<CommandSourceStack> serverExecutor(
+            final @NonNull M commandManager,
+            final @NonNull SenderMapper<CommandSourceStack, C> senderMapper,
+            final @NonNull CloudBrigadierManager<C, CommandSourceStack> brigadierManager
+        ) {
+        if (commandManager.moddedSettings().get(ModdedSetting.PARSE_FUNCTION_COMMANDS_ONCE)) {
+            return new ParseOnceBrigadierCommand<>(commandManager, senderMapper);
+        }
+        return new CloudBrigadierCommand<>(commandManager, brigadierManager);
+    }
+
+    @Override
+    public int run(final @NonNull CommandContext<CommandSourceStack> ctx) {
+        final CommandSourceStack source = ctx.getSource();
+        final String input = ctx.getInput();
+        final int start = ctx.getLastChild().getNodes().get(0).getRange().getStart();
+        final C sender = this.senderMapper.map(source);
+
+        final Plan<C> plan = this.plans.getIfPresent(input);
+        if (plan != null && plan.start() == start && plan.execute(this.commandManager, sender, source, input.substring(start))) {
+            return com.mojang.brigadier.Command.SINGLE_SUCCESS;
+        }
+
+        final CompletableFuture<CommandResult<C>> result = this.commandManager.commandExecutor().executeCommand(
+            sender,
+            input.substring(start),
+            cloudContext -> cloudContext.store(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER, source)
+        );
+        // a plan is only worth capturing when the command ran synchronously, and once the same input comes back,
+        // so commands typed by players, which are a new string every time, never build one
+        final CommandResult<C> completed = result.getNow(null);
+        if (completed != null && !result.isCompletedExceptionally() && this.seen.asMap().putIfAbsent(input, Boolean.TRUE) != null) {
+            final Plan<C> captured = Plan.capture(start, completed.commandContext());
+            if (captured != null) {
+                this.plans.put(input, captured);
+            }
+        }
+        return com.mojang.brigadier.Command.SINGLE_SUCCESS;
+    }
+
+    private static boolean reusable(final ArgumentParser<?, ?> parser, final Object value) {
+        if (value instanceof Tag) {
+            // tags are mutable, and handlers are free to modify them
+            return false;
+        }
+        if (parser instanceof MemoizingBrigadierParser<?, ?>) {
+            // memoized values are already shared between executions, mutable ones are copied before they get here
+            return true;
+        }
+        if (parser instanceof WrappedBrigadierParser<?, ?>) {
+            // Brigadier argument types never see the source while parsing, but some of them return mutable values,
+            // like the components returned by ComponentArgument
+            return immutable(value) || value instanceof Identifier || value instanceof ResourceKey<?>
+                || value instanceof MinMaxBounds<?> || value instanceof ObjectiveCriteria || value instanceof AngleArgument.SingleAngle
+                || value instanceof MessageArgument.Message || value instanceof NbtPathArgument.NbtPath;
+        }
+        return parser.getClass().getPackageName().equals(STANDARD_PARSER_PACKAGE) && immutable(value);
+    }
+
+    private static boolean immutable(final Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character
+            || value instanceof Enum<?> || value instanceof UUID || value instanceof Duration;
+    }
+
+    private record Step<C>(CommandComponent<C> component, @Nullable Object value, @Nullable String consumed) {
+    }
+
+    private record Plan<C>(int start, Command<C> command, List<Step<C>> steps) {
+
+        static <C> @Nullable Plan<C> capture(
+            final int start,
+            final org.incendo.cloud.context.@NonNull CommandContext<C> context
+        ) {
+            final Command<C> command = context.command();
+            if (command == null) {
+                return null;
+            }
+            final List<Step<C>> steps = new ArrayList<>();
+            for (final ParsingContext<C> parsingContext : context.parsingContexts()) {
+                final CommandComponent<C> component = parsingContext.component();
+                if (component.type() == CommandComponent.ComponentType.LITERAL) {
+                    continue;
+                }
+                if (component.type() == CommandComponent.ComponentType.FLAG || !parsingContext.success()) {
+                    return null;
+                }
+                final Optional<Object> value = context.optional(component.name());
+                if (value.isEmpty()) {
+                    return null;
+                }
+                if (reusable(component.parser(), value.get())) {
+                    steps.add(new Step<>(component, value.get(), null));
+                } else if (component.parser() instanceof ArgumentParser.FutureArgumentParser<?, ?>) {
+                    // can only be re-parsed asynchronously, leave those to the command tree
+                    return null;
+                } else if (!parsingContext.consumedInput().isEmpty()) {
+                    steps.add(new Step<>(component, null, parsingContext.consumedInput()));
+                } else {
+                    // defaulted components have nothing to re-parse from
+                    return null;
+                }
+            }
+            return new Plan<>(start, command, List.copyOf(steps));
+        }
+
+        boolean execute(
+            final CommandManager<C> commandManager,
+            final C sender,
+            final CommandSourceStack source,
+            final String input
+        ) {
+            final org.incendo.cloud.context.CommandContext<C> context =
+                new org.incendo.cloud.context.CommandContext<>(sender, commandManager);
+            context.store(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER, source);
+            context.store(RAW_INPUT, CommandInput.of(input));
+
+            // everything that may send the command back through the tree is checked before the first side effect
+            final Optional<TypeToken<? extends C>> senderType = this.command.senderType();
+            if (senderType.isPresent() && !GenericTypeReflector.erase(senderType.get().getType()).isInstance(sender)) {
+                return false;
+            }
+            if (!commandManager.testPermission(sender, this.command.commandPermission()).allowed()) {
+                return false;
+            }
+
+            // from here on, the plan is committed and reports its failures like the command tree would
+            if (commandManager.preprocessContext(context, CommandInput.of(input)) != State.ACCEPTED) {
+                return true;
+            }
+            for (final Step<C> step : this.steps) {
+                if (step.consumed() == null) {
+                    context.store(step.component().name(), step.value());
+                    continue;
+                }
+                final ArgumentParseResult<?> result = step.component().parser().parse(context, CommandInput.of(step.consumed()));
+                if (result.parsedValue().isEmpty()) {
+                    final List<CommandComponent<C>> components = this.command.components();
+                    report(commandManager, context, new ArgumentParseException(
+                        result.failure().orElseThrow(),
+                        sender,
+                        List.<CommandComponent<?>>copyOf(components.subList(0, components.indexOf(step.component()) + 1))
+                    ));
+                    return true;
+                }
+                context.store(step.component().name(), result.parsedValue().get());
+            }
+
+            context.command(this.command);
+            if (commandManager.postprocessContext(context, this.command) != State.ACCEPTED) {
+                // rejected by a postprocessor, which is also where the full path would stop
+                return true;
+            }
+
+            CompletableFuture<Void> execution;
+            try {
+                execution = this.command.commandExecutionHandler().executeFuture(context);
+            } catch (final Exception e) {
+                execution = CompletableFuture.failedFuture(e);
+            }
+            execution.whenComplete(($, failure) -> {
+                if (failure != null) {
+                    handleFailure(commandManager, context, ExceptionController.unwrapCompletionException(failure));
+                }
+            });
+            return true;
+        }
+
+        private static <C> void handleFailure(
+            final CommandManager<C> commandManager,
+            final org.incendo.cloud.context.CommandContext<C> context,
+            final Throwable failure
+        ) {
+            report(
+                commandManager,
+                context,
+                failure instanceof CommandExecutionException ? failure : new CommandExecutionException(failure, context)
+            );
+        }
+
+        private static <C> void report(
+            final CommandManager<C> commandManager,
+            final org.incendo.cloud.context.CommandContext<C> context,
+            final Throwable exception
+        ) {
+            try {
+                commandManager.exceptionController().handleException(context, exception);
+            } catch (final RuntimeException e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new CompletionException(e);
+            }
+        }
+    }
+}
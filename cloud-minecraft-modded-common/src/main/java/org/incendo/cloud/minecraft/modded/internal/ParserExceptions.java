@@ -0,0 +1,80 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.caption.Caption;
+import org.incendo.cloud.caption.CaptionVariable;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.exception.parsing.ParserException;
+
+/**
+ * Shared settings for the {@link org.incendo.cloud.exception.parsing.ParserException}s thrown by modded parsers.
+ *
+ * <p>Those exceptions report ordinary user errors, and are constructed on every mistyped argument and every
+ * suggestion re-parse. Their stack traces only point into cloud's parsing machinery, so they are not captured
+ * unless the {@code cloud.parser_exceptions.stack_traces} system property is set to {@code true}.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class ParserExceptions {
+
+    private static final boolean CAPTURE_STACK_TRACES = Boolean.getBoolean("cloud.parser_exceptions.stack_traces");
+
+    private ParserExceptions() {
+    }
+
+    /**
+     * Base class of parser exceptions reporting expected user errors, which only capture their stack trace when
+     * enabled through the system property.
+     */
+    public abstract static class ExpectedParserException extends ParserException {
+
+        /**
+         * Creates a new exception.
+         *
+         * @param argumentParser   the class of the parser that failed
+         * @param context          the command context
+         * @param errorCaption     the caption describing the failure
+         * @param captionVariables the caption variables
+         */
+        protected ExpectedParserException(
+            final @NonNull Class<?> argumentParser,
+            final @NonNull CommandContext<?> context,
+            final @NonNull Caption errorCaption,
+            final @NonNull CaptionVariable... captionVariables
+        ) {
+            super(argumentParser, context, errorCaption, captionVariables);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            // the trace would only point into the parsing machinery
+            if (CAPTURE_STACK_TRACES) {
+                return super.fillInStackTrace();
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.Identifier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A sorted index of the suggestion strings for the entries of a {@link Registry}.
+ *
+ * <p>Entries in the {@code minecraft} namespace are indexed both with and without their namespace. Indices are
+ * cached per registry instance and rebuilt when a registry is replaced, which happens on datapack reloads and
+ * registry syncs, or when its size changes.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class RegistrySuggestionIndex {
+
+    private static final String NAMESPACE_MINECRAFT = "minecraft";
+    // weak keys compare by identity, so a replaced registry never hits a stale index
+    private static final Cache<Registry<?>, RegistrySuggestionIndex> INDICES = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+
+    private final int registrySize;
+    private final List<String> sorted;
+
+    private RegistrySuggestionIndex(final int registrySize, final List<String> sorted) {
+        this.registrySize = registrySize;
+        this.sorted = sorted;
+    }
+
+    /**
+     * Returns the suggestions for entries of {@code registry} starting with {@code token}, ignoring case.
+     *
+     * <p>The returned list is an unmodifiable view into the index, no entries are copied.</p>
+     *
+     * @param registry the registry
+     * @param token    the token being completed
+     * @return matching suggestions, in lexicographic order
+     */
+    public static @NonNull List<@NonNull String> suggestions(final @NonNull Registry<?> registry, final @NonNull String token) {
+        return index(registry).matching(token.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Drops every cached index, to be called when registries are reloaded or synced.
+     */
+    public static void invalidateAll() {
+        INDICES.invalidateAll();
+    }
+
+    private static RegistrySuggestionIndex index(final Registry<?> registry) {
+        final RegistrySuggestionIndex existing = INDICES.getIfPresent(registry);
+        if (existing != null && existing.registrySize == registry.size()) {
+            return existing;
+        }
+        final RegistrySuggestionIndex built = build(registry);
+        INDICES.put(registry, built);
+        return built;
+    }
+
+    private static RegistrySuggestionIndex build(final Registry<?> registry) {
+        final int size = registry.size();
+        final String[] entries = new String[size * 2];
+        int count = 0;
+        for (final Identifier id : registry.keySet()) {
+            if (id.getNamespace().equals(NAMESPACE_MINECRAFT)) {
+                entries[count++] = id.getPath();
+            }
+            entries[count++] = id.toString();
+        }
+        final String[] sorted = Arrays.copyOf(entries, count);
+        Arrays.sort(sorted);
+        return new RegistrySuggestionIndex(size, Collections.unmodifiableList(Arrays.asList(sorted)));
+    }
+
+    private List<String> matching(final String prefix) {
+        if (prefix.isEmpty()) {
+            return this.sorted;
+        }
+        final int from = insertionPoint(this.sorted, prefix);
+        // every string starting with the prefix sorts below prefix + U+FFFF
+        final int to = insertionPoint(this.sorted, prefix + Character.MAX_VALUE);
+        return this.sorted.subList(from, to);
+    }
+
+    private static int insertionPoint(final List<String> sorted, final String key) {
+        final int index = Collections.binarySearch(sorted, key);
+        return index < 0 ? -(index + 1) : index;
+    }
+}
@@ -0,0 +1,158 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import io.leangen.geantyref.TypeToken;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import net.minecraft.commands.CommandSourceStack;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.key.CloudKey;
+import org.incendo.cloud.minecraft.modded.parser.SelectorResolutionException;
+
+/**
+ * The values of an entity selector bound to the source it was parsed for, resolved at most once.
+ *
+ * <p>Resolution never holds a lock, two threads racing to resolve the same selector both scan the world and the first
+ * result to be published wins.</p>
+ *
+ * @param <V> value type
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class ResolvableSelectorValues<V> {
+
+    /**
+     * Selectors parsed for the current command which are to be resolved before its handler runs.
+     */
+    public static final CloudKey<List<ResolvableSelectorValues<?>>> PENDING = CloudKey.of(
+        "cloud:pending_selectors",
+        new TypeToken<List<ResolvableSelectorValues<?>>>() {
+        }
+    );
+
+    private final CommandSourceStack source;
+    private final Lookup<V> lookup;
+    // null until resolved, then either the values or the failure
+    private volatile @Nullable Object result;
+
+    /**
+     * Creates new unresolved values.
+     *
+     * @param source the source the selector was parsed for
+     * @param lookup the selector query
+     */
+    public ResolvableSelectorValues(final @NonNull CommandSourceStack source, final @NonNull Lookup<V> lookup) {
+        this.source = source;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Resolves every given selector in one task on the server thread, blocking until done.
+     *
+     * @param selectors selectors to resolve
+     */
+    public static void resolveAll(final @NonNull Collection<? extends ResolvableSelectorValues<?>> selectors) {
+        final List<ResolvableSelectorValues<?>> unresolved = new ArrayList<>(selectors.size());
+        for (final ResolvableSelectorValues<?> selector : selectors) {
+            if (selector.result == null) {
+                unresolved.add(selector);
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        ServerThreadHandoff.run(unresolved.get(0).source, () -> {
+            for (final ResolvableSelectorValues<?> selector : unresolved) {
+                selector.resolveHere();
+            }
+        });
+    }
+
+    /**
+     * Resolves the selector as part of parsing, on the server thread, blocking until done.
+     *
+     * @throws CommandSyntaxException if the selector fails to resolve
+     */
+    public void resolveEagerly() throws CommandSyntaxException {
+        ServerThreadHandoff.run(this.source, this::resolveHere);
+        if (this.result instanceof CommandSyntaxException failure) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns the values, resolving the selector on the server thread if that has not happened yet.
+     *
+     * @return the unmodifiable values
+     * @throws SelectorResolutionException if the selector fails to resolve
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull Collection<V> values() {
+        Object result = this.result;
+        if (result == null) {
+            ServerThreadHandoff.run(this.source, this::resolveHere);
+            result = this.result;
+        }
+        if (result instanceof CommandSyntaxException failure) {
+            throw new SelectorResolutionException(failure);
+        }
+        return (Collection<V>) result;
+    }
+
+    private void resolveHere() {
+        if (this.result != null) {
+            return;
+        }
+        Object result;
+        try {
+            result = Collections.unmodifiableCollection(this.lookup.find(this.source));
+        } catch (final CommandSyntaxException ex) {
+            result = ex;
+        }
+        this.result = result;
+    }
+
+    /**
+     * A selector query.
+     *
+     * @param <V> value type
+     */
+    @FunctionalInterface
+    public interface Lookup<V> {
+
+        /**
+         * Finds the values matched by the selector.
+         *
+         * @param source the source the selector was parsed for
+         * @return the matching values
+         * @throws CommandSyntaxException if the selector fails to resolve
+         */
+        @NonNull Collection<? extends V> find(@NonNull CommandSourceStack source) throws CommandSyntaxException;
+    }
+}
@@ -0,0 +1,162 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.MinecraftServer;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Runs work that touches the world of a source on its server thread, blocking the calling thread until done.
+ *
+ * <p>Parsers and postprocessors use this for results that must be resolved against the world, so they stay correct
+ * under coordinators that parse off the server thread. On the server thread, and for sources without a server, the
+ * work runs in place.</p>
+ *
+ * <p>Handing work over fails with an {@link IllegalStateException} when the server is not running, or when the server
+ * thread does not get to the work within 30 seconds, rather than blocking forever.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class ServerThreadHandoff {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private ServerThreadHandoff() {
+    }
+
+    /**
+     * Runs {@code action} on the server thread of {@code source}.
+     *
+     * @param source the source whose world is accessed
+     * @param action the action
+     */
+    public static void run(final @NonNull CommandSourceStack source, final @NonNull Runnable action) {
+        final @Nullable MinecraftServer server = offThreadServer(source);
+        if (server == null) {
+            action.run();
+        } else {
+            await(server.submit(action));
+        }
+    }
+
+    /**
+     * Computes a value on the server thread of {@code source}.
+     *
+     * @param source the source whose world is accessed
+     * @param action computes the value
+     * @param <T>    value type
+     * @return the value
+     */
+    public static <T> T get(final @NonNull CommandSourceStack source, final @NonNull Supplier<T> action) {
+        final @Nullable MinecraftServer server = offThreadServer(source);
+        return server == null ? action.get() : await(server.submit(action));
+    }
+
+    /**
+     * Computes a value on the server thread of {@code source}.
+     *
+     * @param source the source whose world is accessed
+     * @param action computes the value
+     * @param <T>    value type
+     * @return the value
+     * @throws CommandSyntaxException if {@code action} fails
+     */
+    public static <T> T call(
+        final @NonNull CommandSourceStack source,
+        final @NonNull SyntaxExceptionThrowingSupplier<T> action
+    ) throws CommandSyntaxException {
+        final @Nullable MinecraftServer server = offThreadServer(source);
+        if (server == null) {
+            return action.get();
+        }
+        try {
+            return await(server.submit(() -> {
+                try {
+                    return action.get();
+                } catch (final CommandSyntaxException ex) {
+                    throw new CompletionException(ex);
+                }
+            }));
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof CommandSyntaxException syntaxException) {
+                throw syntaxException;
+            }
+            throw ex;
+        }
+    }
+
+    private static @Nullable MinecraftServer offThreadServer(final CommandSourceStack source) {
+        // noinspection ConstantConditions - vanilla annotations are lying
+        final @Nullable MinecraftServer server = source.getServer();
+        if (server == null || server.isSameThread()) {
+            return null;
+        }
+        if (!server.isRunning()) {
+            // a stopped server never runs submitted work
+            throw new IllegalStateException("Cannot hand work over to the server thread, the server is not running");
+        }
+        return server;
+    }
+
+    private static <T> T await(final CompletableFuture<T> future) {
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final ExecutionException ex) {
+            throw new CompletionException(ex.getCause());
+        } catch (final TimeoutException ex) {
+            future.cancel(false);
+            throw new IllegalStateException("The server thread did not run handed over work within " + TIMEOUT_SECONDS + " seconds", ex);
+        } catch (final InterruptedException ex) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the server thread", ex);
+        }
+    }
+
+    /**
+     * Computes a value, possibly failing with a {@link CommandSyntaxException}.
+     *
+     * @param <T> value type
+     */
+    @FunctionalInterface
+    public interface SyntaxExceptionThrowingSupplier<T> {
+
+        /**
+         * Computes the value.
+         *
+         * @return the value
+         * @throws CommandSyntaxException if the computation fails
+         */
+        T get() throws CommandSyntaxException;
+    }
+}
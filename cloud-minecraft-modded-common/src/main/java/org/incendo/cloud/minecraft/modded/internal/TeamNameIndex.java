@@ -0,0 +1,109 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import net.minecraft.world.scores.PlayerTeam;
+import net.minecraft.world.scores.Scoreboard;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A sorted index of the teams on a {@link Scoreboard}, searchable by case-insensitive prefix.
+ *
+ * <p>Each scoreboard owns one index, maintained by a mixin as teams are added and removed. Unlike the scoreboard's
+ * own team map, the index may be read safely from threads other than the one mutating the scoreboard.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class TeamNameIndex {
+
+    // keyed by the lower-cased name, then the name itself, so prefix ranges ignore case and names never collide
+    private final ConcurrentSkipListMap<String, PlayerTeam> teams = new ConcurrentSkipListMap<>();
+
+    /**
+     * Returns the index of {@code scoreboard}, if it has one.
+     *
+     * @param scoreboard the scoreboard
+     * @return the index, or {@code null} if the scoreboard is not indexed
+     */
+    public static @Nullable TeamNameIndex of(final @NonNull Scoreboard scoreboard) {
+        return scoreboard instanceof ScoreboardAccess access ? access.teamNameIndex() : null;
+    }
+
+    /**
+     * Adds a team to the index, replacing any team with the same name.
+     *
+     * @param team the team
+     */
+    public void add(final @NonNull PlayerTeam team) {
+        this.teams.put(key(team.getName()), team);
+    }
+
+    /**
+     * Removes a team from the index.
+     *
+     * @param team the team
+     */
+    public void remove(final @NonNull PlayerTeam team) {
+        this.teams.remove(key(team.getName()), team);
+    }
+
+    /**
+     * Returns the team with exactly the given name.
+     *
+     * @param name the team name
+     * @return the team, or {@code null} if there is none
+     */
+    public @Nullable PlayerTeam team(final @NonNull String name) {
+        return this.teams.get(key(name));
+    }
+
+    /**
+     * Returns the names of the teams starting with {@code token}, ignoring case.
+     *
+     * @param token the token being completed
+     * @return matching team names, ordered by their lower-cased name
+     */
+    public @NonNull List<@NonNull String> suggestions(final @NonNull String token) {
+        final String prefix = token.toLowerCase(Locale.ROOT);
+        final ConcurrentNavigableMap<String, PlayerTeam> matching = prefix.isEmpty()
+            ? this.teams
+            // every key starting with the prefix sorts below prefix + U+FFFF
+            : this.teams.subMap(prefix, prefix + Character.MAX_VALUE);
+        final List<String> names = new ArrayList<>();
+        for (final PlayerTeam team : matching.values()) {
+            names.add(team.getName());
+        }
+        return names;
+    }
+
+    private static String key(final String name) {
+        return name.toLowerCase(Locale.ROOT) + '\0' + name;
+    }
+}
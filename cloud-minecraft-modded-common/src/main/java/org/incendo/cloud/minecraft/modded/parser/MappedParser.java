@@ -0,0 +1,78 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.parser;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ArgumentParser;
+import org.incendo.cloud.parser.MappedArgumentParser;
+import org.incendo.cloud.suggestion.SuggestionProvider;
+
+/**
+ * A synchronous counterpart to {@link ArgumentParser#flatMapSuccess}, for mappers that never need to complete later.
+ *
+ * <p>The base result is mapped in place instead of through a chain of completed futures, and
+ * {@link #parseFuture} only wraps the final result. The base parser stays reachable through {@link #baseParser()},
+ * so Brigadier still sees the wrapped vanilla argument type.</p>
+ *
+ * @param <C> command sender type
+ * @param <I> base parser output type
+ * @param <O> mapped output type
+ */
+final class MappedParser<C, I, O> implements MappedArgumentParser<C, I, O> {
+
+    private final ArgumentParser<C, I> base;
+    private final Mapper<C, I, O> mapper;
+
+    MappedParser(final @NonNull ArgumentParser<C, I> base, final @NonNull Mapper<C, I, O> mapper) {
+        this.base = base;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public @NonNull ArgumentParser<C, I> baseParser() {
+        return this.base;
+    }
+
+    @Override
+    public @NonNull ArgumentParseResult<@NonNull O> parse(
+        final @NonNull CommandContext<@NonNull C> commandContext,
+        final @NonNull CommandInput commandInput
+    ) {
+        return this.base.parse(commandContext, commandInput).flatMapSuccess(value -> this.mapper.map(commandContext, value));
+    }
+
+    @Override
+    public @NonNull SuggestionProvider<C> suggestionProvider() {
+        return this.base.suggestionProvider();
+    }
+
+    @FunctionalInterface
+    interface Mapper<C, I, O> {
+
+        @NonNull ArgumentParseResult<O> map(@NonNull CommandContext<C> context, @NonNull I value);
+    }
+}
@@ -26,21 +26,23 @@ package org.incendo.cloud.minecraft.modded.parser;
 import com.mojang.brigadier.StringReader;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import io.leangen.geantyref.TypeToken;
-import java.util.ArrayList;
+import java.lang.ref.WeakReference;
 import java.util.List;
-import java.util.Set;
-import net.minecraft.commands.SharedSuggestionProvider;
+import java.util.function.BiFunction;
 import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.Identifier;
 import net.minecraft.resources.ResourceKey;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.caption.CaptionVariable;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.context.CommandInput;
-import org.incendo.cloud.exception.parsing.ParserException;
 import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
 import org.incendo.cloud.minecraft.modded.caption.ModdedCaptionKeys;
+import org.incendo.cloud.minecraft.modded.internal.ParserExceptions;
+import org.incendo.cloud.minecraft.modded.internal.RegistrySuggestionIndex;
 import org.incendo.cloud.parser.ArgumentParseResult;
 import org.incendo.cloud.parser.ArgumentParser;
 import org.incendo.cloud.parser.ParserDescriptor;
@@ -56,8 +58,6 @@ import org.incendo.cloud.suggestion.BlockingSuggestionProvider;
  */
 public final class RegistryEntryParser<C, V> implements ArgumentParser<C, V>, BlockingSuggestionProvider.Strings<C> {
 
-    private static final String NAMESPACE_MINECRAFT = "minecraft";
-
     /**
      * Creates a new registry entry parser.
      *
@@ -107,6 +107,7 @@ public final class RegistryEntryParser<C, V> implements ArgumentParser<C, V>, Bl
     }
 
     private final ResourceKey<? extends Registry<V>> registryIdent;
+    private volatile @Nullable ResolvedRegistry<V> resolved;
 
     /**
      * Create a registry entry parser.
@@ -124,9 +125,25 @@ public final class RegistryEntryParser<C, V> implements ArgumentParser<C, V>, Bl
         final @NonNull CommandContext<@NonNull C> commandContext,
         final @NonNull CommandInput commandInput
     ) {
+        return this.read(commandContext, commandInput, Registry::getValue);
+    }
+
+    <T> @NonNull ArgumentParseResult<@NonNull T> read(
+        final @NonNull CommandContext<@NonNull C> commandContext,
+        final @NonNull CommandInput commandInput,
+        final @NonNull BiFunction<Registry<V>, Identifier, @Nullable T> lookup
+    ) {
+        // read straight out of the full input, rather than copying the token out first
+        commandInput.skipWhitespace();
+        final String input = commandInput.input();
+        final int start = commandInput.cursor();
+        final int end = input.indexOf(' ', start);
+        commandInput.moveCursor((end == -1 ? input.length() : end) - start);
+        final StringReader reader = new StringReader(input);
+        reader.setCursor(start);
         final Identifier key;
         try {
-            key = Identifier.read(new StringReader(commandInput.readString()));
+            key = Identifier.read(reader);
         } catch (final CommandSyntaxException ex) {
             return ArgumentParseResult.failure(ex);
         }
@@ -136,7 +153,7 @@ public final class RegistryEntryParser<C, V> implements ArgumentParser<C, V>, Bl
             return ArgumentParseResult.failure(new IllegalArgumentException("Unknown registry " + this.registryIdent));
         }
 
-        final V entry = registry.getValue(key);
+        final T entry = lookup.apply(registry, key);
         if (entry == null) {
             return ArgumentParseResult.failure(new UnknownEntryException(commandContext, key, this.registryIdent));
         }
@@ -144,9 +161,22 @@ public final class RegistryEntryParser<C, V> implements ArgumentParser<C, V>, Bl
         return ArgumentParseResult.success(entry);
     }
 
-    private Registry<V> resolveRegistry(final CommandContext<C> ctx) {
-        final SharedSuggestionProvider reverseMapped = ctx.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER);
-        return reverseMapped.registryAccess().lookup(this.registryIdent).orElse(null);
+    @SuppressWarnings("ReferenceEquality")
+    private @Nullable Registry<V> resolveRegistry(final CommandContext<C> ctx) {
+        final RegistryAccess access = ctx.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER).registryAccess();
+        // registry access instances are replaced wholesale on reloads and syncs, so identity is enough to detect staleness
+        final ResolvedRegistry<V> cached = this.resolved;
+        if (cached != null && cached.access().get() == access) {
+            final Registry<V> registry = cached.registry().get();
+            if (registry != null) {
+                return registry;
+            }
+        }
+        final Registry<V> registry = access.lookup(this.registryIdent).orElse(null);
+        if (registry != null) {
+            this.resolved = new ResolvedRegistry<>(new WeakReference<>(access), new WeakReference<>(registry));
+        }
+        return registry;
     }
 
     @Override
@@ -154,16 +184,11 @@ public final class RegistryEntryParser<C, V> implements ArgumentParser<C, V>, Bl
         final @NonNull CommandContext<C> commandContext,
         final @NonNull CommandInput input
     ) {
-        final Set<Identifier> ids = this.resolveRegistry(commandContext).keySet();
-        final List<String> results = new ArrayList<>(ids.size());
-        for (final Identifier entry : ids) {
-            if (entry.getNamespace().equals(NAMESPACE_MINECRAFT)) {
-                results.add(entry.getPath());
-            }
-            results.add(entry.toString());
+        final Registry<V> registry = this.resolveRegistry(commandContext);
+        if (registry == null) {
+            return List.of();
         }
-
-        return results;
+        return RegistrySuggestionIndex.suggestions(registry, input.peekString());
     }
 
     /**
@@ -175,11 +200,14 @@ public final class RegistryEntryParser<C, V> implements ArgumentParser<C, V>, Bl
         return this.registryIdent;
     }
 
+    // weak, parsers outlive the registries of a world or server the client has left
+    private record ResolvedRegistry<V>(WeakReference<RegistryAccess> access, WeakReference<Registry<V>> registry) {
+    }
+
     /**
      * An exception thrown when an entry in a registry could not be found.
      */
-    private static final class UnknownEntryException extends ParserException {
-
+    private static final class UnknownEntryException extends ParserExceptions.ExpectedParserException {
 
         UnknownEntryException(
             final CommandContext<?> context,
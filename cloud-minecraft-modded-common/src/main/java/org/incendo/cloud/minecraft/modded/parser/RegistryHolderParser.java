@@ -0,0 +1,126 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.parser;
+
+import io.leangen.geantyref.TypeFactory;
+import io.leangen.geantyref.TypeToken;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ArgumentParser;
+import org.incendo.cloud.parser.ParserDescriptor;
+import org.incendo.cloud.suggestion.BlockingSuggestionProvider;
+
+/**
+ * Argument for getting {@link Holder.Reference holders} of the entries of a {@link Registry}.
+ *
+ * <p>This accepts and suggests the same input as {@link RegistryEntryParser}, but returns the registry's holder for
+ * the entry, so callers needing its key or tags don't have to look the entry up a second time.</p>
+ *
+ * @param <C> the command sender type
+ * @param <V> the registry entry type
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class RegistryHolderParser<C, V> implements ArgumentParser<C, Holder.Reference<V>>,
+    BlockingSuggestionProvider.Strings<C> {
+
+    /**
+     * Creates a new registry holder parser.
+     *
+     * @param <C>       command sender type
+     * @param <V>       the registry entry type
+     * @param registry  the registry key to use
+     * @param valueType the type of the registry entries
+     * @return the created parser
+     */
+    @SuppressWarnings("unchecked")
+    public static <C, V> @NonNull ParserDescriptor<C, Holder.Reference<V>> registryHolderParser(
+        final @NonNull ResourceKey<? extends Registry<V>> registry,
+        final @NonNull TypeToken<V> valueType
+    ) {
+        return ParserDescriptor.of(
+            new RegistryHolderParser<>(registry),
+            (TypeToken<Holder.Reference<V>>) TypeToken.get(TypeFactory.parameterizedClass(Holder.Reference.class, valueType.getType()))
+        );
+    }
+
+    /**
+     * Returns a {@link CommandComponent.Builder} using {@link #registryHolderParser} as the parser.
+     *
+     * @param <C>       the command sender type
+     * @param <V>       the registry entry type
+     * @param registry  the registry key to use
+     * @param valueType the type of the registry entries
+     * @return the component builder
+     */
+    public static <C, V> CommandComponent.@NonNull Builder<C, Holder.Reference<V>> registryHolderComponent(
+        final @NonNull ResourceKey<? extends Registry<V>> registry,
+        final @NonNull TypeToken<V> valueType
+    ) {
+        return CommandComponent.<C, Holder.Reference<V>>builder().parser(registryHolderParser(registry, valueType));
+    }
+
+    private final RegistryEntryParser<C, V> entryParser;
+
+    /**
+     * Create a registry holder parser.
+     *
+     * @param registry registry key to use in parser
+     */
+    public RegistryHolderParser(final @NonNull ResourceKey<? extends Registry<V>> registry) {
+        this.entryParser = new RegistryEntryParser<>(registry);
+    }
+
+    @Override
+    public @NonNull ArgumentParseResult<Holder.@NonNull Reference<V>> parse(
+        final @NonNull CommandContext<@NonNull C> commandContext,
+        final @NonNull CommandInput commandInput
+    ) {
+        return this.entryParser.read(commandContext, commandInput, (registry, key) -> registry.get(key).orElse(null));
+    }
+
+    @Override
+    public @NonNull Iterable<@NonNull String> stringSuggestions(
+        final @NonNull CommandContext<C> commandContext,
+        final @NonNull CommandInput input
+    ) {
+        return this.entryParser.stringSuggestions(commandContext, input);
+    }
+
+    /**
+     * Get the registry key the parser is using.
+     *
+     * @return the associated registry key
+     */
+    public ResourceKey<? extends Registry<?>> registryKey() {
+        return this.entryParser.registryKey();
+    }
+}
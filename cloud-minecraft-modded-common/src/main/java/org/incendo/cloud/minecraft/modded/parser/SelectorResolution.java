@@ -0,0 +1,70 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.parser;
+
+import org.apiguardian.api.API;
+
+/**
+ * Controls when the parsers in {@link VanillaArgumentParsers} resolve an entity selector into its matching values.
+ *
+ * <p>Selector parsers created without specifying a resolution use {@link #ON_ACCESS}. Selectors registered by type or
+ * annotation use {@link org.incendo.cloud.minecraft.modded.ModdedParserParameters#SELECTOR_RESOLUTION} when given,
+ * for example through {@link org.incendo.cloud.minecraft.modded.annotation.specifier.ResolveSelector}, and
+ * otherwise {@link #ON_ACCESS}, or {@link #EAGER} with
+ * {@link org.incendo.cloud.minecraft.modded.ModdedSetting#EAGER_SELECTOR_RESOLUTION} enabled.</p>
+ *
+ * <p>This changes the behaviour of earlier releases, which always resolved selectors while parsing. With lazy
+ * resolution, a selector matching nothing passes parsing and fails from the handler with a
+ * {@link SelectorResolutionException}. The default {@link org.incendo.cloud.exception.CommandExecutionException}
+ * handler reports that like an invalid argument; a custom handler replacing it sees the wrapped exception instead.</p>
+ *
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public enum SelectorResolution {
+    /**
+     * Resolve the selector while parsing, on the server thread, blocking the parsing thread if needed.
+     *
+     * <p>Failing to resolve the selector fails the argument.</p>
+     */
+    EAGER,
+    /**
+     * Capture the selector and the command source while parsing, and resolve every such selector of a command in one
+     * batch on the server thread after parsing has completed, right before the command handler runs.
+     *
+     * <p>No world is scanned while parsing or suggesting, or for commands that fail before they are executed.
+     * Failing to resolve the selector makes {@link org.incendo.cloud.minecraft.modded.data.Selector#values()} throw a
+     * {@link SelectorResolutionException}, which the default exception handlers report like an invalid argument.</p>
+     */
+    BEFORE_HANDLER,
+    /**
+     * Capture the selector and the command source while parsing, and resolve the selector the first time its values
+     * are accessed. The result is memoized.
+     *
+     * <p>Handlers that only read {@link org.incendo.cloud.minecraft.modded.data.Selector#inputString()} never scan the
+     * world. Resolution happens on the server thread, blocking the accessing thread if needed. Failures are reported
+     * as with {@link #BEFORE_HANDLER}.</p>
+     */
+    ON_ACCESS
+}
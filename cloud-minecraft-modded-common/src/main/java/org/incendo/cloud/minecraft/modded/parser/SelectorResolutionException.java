@@ -0,0 +1,59 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.parser;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Thrown when accessing the values of a selector that was not resolved while parsing, and failed to resolve afterwards.
+ *
+ * @see SelectorResolution
+ * @since 2.1.0
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+public final class SelectorResolutionException extends RuntimeException {
+
+    private static final long serialVersionUID = 8023417620195743614L;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param cause the failure reported by the selector
+     */
+    @API(status = API.Status.INTERNAL)
+    public SelectorResolutionException(final @NonNull CommandSyntaxException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    /**
+     * Returns the failure reported by the selector.
+     *
+     * @return the failure
+     */
+    public @NonNull CommandSyntaxException syntaxException() {
+        return (CommandSyntaxException) this.getCause();
+    }
+}
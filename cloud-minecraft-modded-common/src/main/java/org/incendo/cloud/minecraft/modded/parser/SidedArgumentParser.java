@@ -23,7 +23,6 @@
 //
 package org.incendo.cloud.minecraft.modded.parser;
 
-import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import net.minecraft.commands.SharedSuggestionProvider;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -36,35 +35,41 @@ import org.incendo.cloud.parser.ArgumentParser;
 /**
  * An argument parser that is resolved in different ways on the logical server and logical client.
  *
+ * <p>Parsing and resolution are synchronous, so {@link #parseFuture} completes immediately with the result of
+ * {@link #parse}. Subclasses that really need to resolve asynchronously can still override {@link #parseFuture}.</p>
+ *
  * @param <C>                command sender type
  * @param <IntermediateType> intermediate type to resolve
  * @param <T>                resolved type
  */
-abstract class SidedArgumentParser<C, IntermediateType, T> implements ArgumentParser.FutureArgumentParser<C, T> {
+abstract class SidedArgumentParser<C, IntermediateType, T> implements ArgumentParser<C, T> {
 
     private final Predicate<SharedSuggestionProvider> isClient;
+    private final ArgumentParser<C, IntermediateType> intermediateParser;
 
-    protected SidedArgumentParser() {
+    protected SidedArgumentParser(final @NonNull ArgumentParser<C, IntermediateType> intermediateParser) {
         this.isClient = VanillaArgumentParsers::isClientSource;
+        this.intermediateParser = intermediateParser;
     }
 
     @Override
-    public @NonNull CompletableFuture<@NonNull ArgumentParseResult<T>> parseFuture(
+    public @NonNull ArgumentParseResult<@NonNull T> parse(
         final @NonNull CommandContext<@NonNull C> commandContext,
         final @NonNull CommandInput commandInput
     ) {
+        final ArgumentParseResult<IntermediateType> intermediate = this.intermediateParser.parse(commandContext, commandInput);
+        if (intermediate.failure().isPresent()) {
+            return ArgumentParseResult.failure(intermediate.failure().get());
+        }
         final SharedSuggestionProvider source = commandContext.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER);
-        return this.intermediateParser().flatMapSuccess((ctx, result) -> {
-            if (this.isClient.test(source)) {
-                return this.resolveClient(commandContext, result);
-            } else {
-                return this.resolveServer(commandContext, result);
-            }
-        }).parseFuture(commandContext, commandInput);
+        final IntermediateType value = intermediate.parsedValue().orElseThrow();
+        if (this.isClient.test(source)) {
+            return this.resolveClient(commandContext, value);
+        } else {
+            return this.resolveServer(commandContext, value);
+        }
     }
 
-    protected abstract @NonNull FutureArgumentParser<C, IntermediateType> intermediateParser();
-
     /**
      * Resolve the final value for this argument when running on the client.
      *
@@ -72,7 +77,7 @@ abstract class SidedArgumentParser<C, IntermediateType, T> implements ArgumentPa
      * @param value   parsed intermediate value
      * @return a resolved value
      */
-    protected abstract @NonNull CompletableFuture<@NonNull ArgumentParseResult<@NonNull T>> resolveClient(
+    protected abstract @NonNull ArgumentParseResult<@NonNull T> resolveClient(
         @NonNull CommandContext<@NonNull C> context,
         @NonNull IntermediateType value
     );
@@ -84,7 +89,7 @@ abstract class SidedArgumentParser<C, IntermediateType, T> implements ArgumentPa
      * @param value   Parsed intermediate value
      * @return a resolved value
      */
-    protected abstract @NonNull CompletableFuture<@NonNull ArgumentParseResult<@NonNull T>> resolveServer(
+    protected abstract @NonNull ArgumentParseResult<@NonNull T> resolveServer(
         @NonNull CommandContext<@NonNull C> context,
         @NonNull IntermediateType value
     );
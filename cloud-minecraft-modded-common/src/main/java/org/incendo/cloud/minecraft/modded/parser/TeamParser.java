@@ -24,21 +24,25 @@
 package org.incendo.cloud.minecraft.modded.parser;
 
 import java.util.ArrayList;
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.world.scores.PlayerTeam;
+import net.minecraft.world.scores.Scoreboard;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.caption.CaptionVariable;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.context.CommandInput;
-import org.incendo.cloud.exception.parsing.ParserException;
 import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
 import org.incendo.cloud.minecraft.modded.caption.ModdedCaptionKeys;
+import org.incendo.cloud.minecraft.modded.internal.ParserExceptions;
+import org.incendo.cloud.minecraft.modded.internal.ServerThreadHandoff;
+import org.incendo.cloud.minecraft.modded.internal.TeamNameIndex;
 import org.incendo.cloud.parser.ArgumentParseResult;
-import org.incendo.cloud.parser.ArgumentParser;
 import org.incendo.cloud.parser.ParserDescriptor;
 import org.incendo.cloud.suggestion.BlockingSuggestionProvider;
 
@@ -70,21 +74,39 @@ public final class TeamParser<C> extends SidedArgumentParser<C, String, PlayerTe
         return CommandComponent.<C, PlayerTeam>builder().parser(teamParser());
     }
 
+    /**
+     * Creates a new team parser.
+     */
+    public TeamParser() {
+        super((ctx, commandInput) -> ArgumentParseResult.success(commandInput.readString()));
+    }
+
     @Override
     public @NonNull Iterable<@NonNull String> stringSuggestions(
         final @NonNull CommandContext<C> commandContext,
         final @NonNull CommandInput input
     ) {
-        return new ArrayList<>(commandContext.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER).getAllTeams());
-    }
-
-    @Override
-    protected ArgumentParser.@NonNull FutureArgumentParser<C, String> intermediateParser() {
-        return (ctx, commandInput) -> ArgumentParseResult.successFuture(commandInput.readString());
+        final SharedSuggestionProvider source = commandContext.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER);
+        final String token = input.peekString();
+        final TeamNameIndex index = teamIndex(source);
+        if (index != null) {
+            return index.suggestions(token);
+        }
+        if (!VanillaArgumentParsers.isClientSource(source) && serverScoreboard((CommandSourceStack) source) == null) {
+            return List.of();
+        }
+        // not backed by a scoreboard we can index, fall back to filtering whatever the source exposes
+        final List<String> suggestions = new ArrayList<>();
+        for (final String team : source.getAllTeams()) {
+            if (team.regionMatches(true, 0, token, 0, token.length())) {
+                suggestions.add(team);
+            }
+        }
+        return suggestions;
     }
 
     @Override
-    protected @NonNull CompletableFuture<@NonNull ArgumentParseResult<PlayerTeam>> resolveClient(
+    protected @NonNull ArgumentParseResult<PlayerTeam> resolveClient(
         final @NonNull CommandContext<C> context,
         final @NonNull String value
     ) {
@@ -92,31 +114,60 @@ public final class TeamParser<C> extends SidedArgumentParser<C, String, PlayerTe
         if (connection == null) {
             throw new IllegalStateException();
         }
-        final PlayerTeam result = connection.getLevel().getScoreboard().getPlayerTeam(value);
+        final PlayerTeam result = team(connection.getLevel().getScoreboard(), value);
         if (result == null) {
-            return ArgumentParseResult.failureFuture(new UnknownTeamException(context, value));
+            return ArgumentParseResult.failure(new UnknownTeamException(context, value));
         }
-        return ArgumentParseResult.successFuture(result);
+        return ArgumentParseResult.success(result);
     }
 
     @Override
-    protected @NonNull CompletableFuture<@NonNull ArgumentParseResult<PlayerTeam>> resolveServer(
+    protected @NonNull ArgumentParseResult<PlayerTeam> resolveServer(
         final @NonNull CommandContext<C> context,
         final @NonNull String value
     ) {
         final CommandSourceStack source = (CommandSourceStack) context.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER);
-        final PlayerTeam result = source.getLevel().getScoreboard().getPlayerTeam(value);
+        final Scoreboard scoreboard = serverScoreboard(source);
+        final PlayerTeam result;
+        if (scoreboard == null) {
+            result = null;
+        } else if (TeamNameIndex.of(scoreboard) != null) {
+            result = team(scoreboard, value);
+        } else {
+            // the scoreboard itself must only be read on the server thread
+            result = ServerThreadHandoff.get(source, () -> scoreboard.getPlayerTeam(value));
+        }
         if (result == null) {
-            return ArgumentParseResult.failureFuture(new UnknownTeamException(context, value));
+            return ArgumentParseResult.failure(new UnknownTeamException(context, value));
         }
-        return ArgumentParseResult.successFuture(result);
+        return ArgumentParseResult.success(result);
+    }
+
+    private static @Nullable PlayerTeam team(final @NonNull Scoreboard scoreboard, final @NonNull String name) {
+        // resolve through the same index suggestions come from, which is also safe to read off the main thread
+        final TeamNameIndex index = TeamNameIndex.of(scoreboard);
+        return index == null ? scoreboard.getPlayerTeam(name) : index.team(name);
+    }
+
+    private static @Nullable TeamNameIndex teamIndex(final @NonNull SharedSuggestionProvider source) {
+        if (!VanillaArgumentParsers.isClientSource(source)) {
+            final Scoreboard scoreboard = serverScoreboard((CommandSourceStack) source);
+            return scoreboard == null ? null : TeamNameIndex.of(scoreboard);
+        }
+        final Minecraft minecraft = Minecraft.getInstance();
+        final ClientPacketListener connection = minecraft == null ? null : minecraft.getConnection();
+        return connection == null ? null : TeamNameIndex.of(connection.getLevel().getScoreboard());
+    }
+
+    private static @Nullable Scoreboard serverScoreboard(final @NonNull CommandSourceStack source) {
+        // noinspection ConstantConditions - vanilla annotations are lying, sources created without a world have none
+        return source.getServer() == null || source.getLevel() == null ? null : source.getLevel().getScoreboard();
     }
 
     /**
      * Exception for when a team cannot be found for supplied input.
      */
-    public static final class UnknownTeamException extends ParserException {
-
+    public static final class UnknownTeamException extends ParserExceptions.ExpectedParserException {
 
         UnknownTeamException(
             final @NonNull CommandContext<?> context,
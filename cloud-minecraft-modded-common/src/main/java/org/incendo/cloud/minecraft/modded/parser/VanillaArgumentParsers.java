@@ -25,11 +25,14 @@ package org.incendo.cloud.minecraft.modded.parser;
 
 import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.SharedSuggestionProvider;
@@ -45,11 +48,13 @@ import net.minecraft.commands.arguments.item.ItemInput;
 import net.minecraft.commands.arguments.selector.EntitySelector;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.phys.Vec3;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.brigadier.parser.WrappedBrigadierParser;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
@@ -62,6 +67,8 @@ import org.incendo.cloud.minecraft.modded.data.SingleEntitySelector;
 import org.incendo.cloud.minecraft.modded.data.SinglePlayerSelector;
 import org.incendo.cloud.minecraft.modded.internal.ContextualArgumentTypeProvider;
 import org.incendo.cloud.minecraft.modded.internal.EntitySelectorAccess;
+import org.incendo.cloud.minecraft.modded.internal.ResolvableSelectorValues;
+import org.incendo.cloud.minecraft.modded.internal.ServerThreadHandoff;
 import org.incendo.cloud.parser.ArgumentParseResult;
 import org.incendo.cloud.parser.ArgumentParser;
 import org.incendo.cloud.parser.ParserDescriptor;
@@ -107,8 +114,10 @@ public final class VanillaArgumentParsers {
      * @return a parser descriptor
      */
     public static <C> @NonNull ParserDescriptor<C, MinecraftTime> timeParser() {
-        ArgumentParser<C, MinecraftTime> parser = new WrappedBrigadierParser<C, Integer>(TimeArgument.time())
-            .flatMapSuccess((ctx, val) -> ArgumentParseResult.successFuture(MinecraftTime.of(val)));
+        ArgumentParser<C, MinecraftTime> parser = new MappedParser<>(
+            new WrappedBrigadierParser<C, Integer>(TimeArgument.time()),
+            (ctx, val) -> ArgumentParseResult.success(MinecraftTime.of(val))
+        );
 
         return ParserDescriptor.of(parser, MinecraftTime.class);
     }
@@ -120,9 +129,10 @@ public final class VanillaArgumentParsers {
      * @return a parser descriptor
      */
     public static <C> @NonNull ParserDescriptor<C, Coordinates.BlockCoordinates> blockPosParser() {
-        ArgumentParser<C, Coordinates.BlockCoordinates> parser = new WrappedBrigadierParser<C,
-            net.minecraft.commands.arguments.coordinates.Coordinates>(BlockPosArgument.blockPos())
-            .flatMapSuccess(VanillaArgumentParsers::mapToCoordinates);
+        ArgumentParser<C, Coordinates.BlockCoordinates> parser = new MappedParser<>(
+            new WrappedBrigadierParser<C, net.minecraft.commands.arguments.coordinates.Coordinates>(BlockPosArgument.blockPos()),
+            VanillaArgumentParsers::mapToCoordinates
+        );
 
         return ParserDescriptor.of(parser, Coordinates.BlockCoordinates.class);
     }
@@ -134,9 +144,10 @@ public final class VanillaArgumentParsers {
      * @return a parser descriptor
      */
     public static <C> @NonNull ParserDescriptor<C, Coordinates.ColumnCoordinates> columnPosParser() {
-        ArgumentParser<C, Coordinates.ColumnCoordinates> parser = new WrappedBrigadierParser<C,
-            net.minecraft.commands.arguments.coordinates.Coordinates>(ColumnPosArgument.columnPos())
-            .flatMapSuccess(VanillaArgumentParsers::mapToCoordinates);
+        ArgumentParser<C, Coordinates.ColumnCoordinates> parser = new MappedParser<>(
+            new WrappedBrigadierParser<C, net.minecraft.commands.arguments.coordinates.Coordinates>(ColumnPosArgument.columnPos()),
+            VanillaArgumentParsers::mapToCoordinates
+        );
 
         return ParserDescriptor.of(parser, Coordinates.ColumnCoordinates.class);
     }
@@ -150,9 +161,10 @@ public final class VanillaArgumentParsers {
      * @return a parser descriptor
      */
     public static <C> @NonNull ParserDescriptor<C, Coordinates.CoordinatesXZ> vec2Parser(final boolean centerIntegers) {
-        ArgumentParser<C, Coordinates.CoordinatesXZ> parser = new WrappedBrigadierParser<C,
-            net.minecraft.commands.arguments.coordinates.Coordinates>(new Vec2Argument(centerIntegers))
-            .flatMapSuccess(VanillaArgumentParsers::mapToCoordinates);
+        ArgumentParser<C, Coordinates.CoordinatesXZ> parser = new MappedParser<>(
+            new WrappedBrigadierParser<C, net.minecraft.commands.arguments.coordinates.Coordinates>(new Vec2Argument(centerIntegers)),
+            VanillaArgumentParsers::mapToCoordinates
+        );
 
         return ParserDescriptor.of(parser, Coordinates.CoordinatesXZ.class);
     }
@@ -165,21 +177,22 @@ public final class VanillaArgumentParsers {
      * @return a parser descriptor
      */
     public static <C> @NonNull ParserDescriptor<C, Coordinates> vec3Parser(final boolean centerIntegers) {
-        ArgumentParser<C, Coordinates> parser = new WrappedBrigadierParser<C,
-            net.minecraft.commands.arguments.coordinates.Coordinates>(Vec3Argument.vec3(centerIntegers))
-            .flatMapSuccess(VanillaArgumentParsers::mapToCoordinates);
+        ArgumentParser<C, Coordinates> parser = new MappedParser<>(
+            new WrappedBrigadierParser<C, net.minecraft.commands.arguments.coordinates.Coordinates>(Vec3Argument.vec3(centerIntegers)),
+            VanillaArgumentParsers::mapToCoordinates
+        );
 
         return ParserDescriptor.of(parser, Coordinates.class);
     }
 
     @SuppressWarnings("unchecked")
-    private static <C, O extends Coordinates> @NonNull CompletableFuture<@NonNull ArgumentParseResult<O>> mapToCoordinates(
+    private static <C, O extends Coordinates> @NonNull ArgumentParseResult<O> mapToCoordinates(
         final @NonNull CommandContext<C> ctx,
         final net.minecraft.commands.arguments.coordinates.@NonNull Coordinates posArgument
     ) {
         return requireServer(
             ctx,
-            serverCommandSource -> ArgumentParseResult.successFuture((O) new CoordinatesImpl(
+            serverCommandSource -> ArgumentParseResult.success((O) new CoordinatesImpl(
                 serverCommandSource,
                 posArgument
             ))
@@ -187,111 +200,222 @@ public final class VanillaArgumentParsers {
     }
 
     /**
-     * A parser for {@link SinglePlayerSelector}.
+     * A parser for {@link SinglePlayerSelector}, resolved on first access.
      *
      * @param <C> sender type
      * @return a parser descriptor
+     * @see SelectorResolution#ON_ACCESS
      */
     public static <C> @NonNull ParserDescriptor<C, SinglePlayerSelector> singlePlayerSelectorParser() {
-        ArgumentParser<C, SinglePlayerSelector> parser = new WrappedBrigadierParser<C, EntitySelector>(EntityArgument.player())
-            .flatMapSuccess((ctx, entitySelector) -> requireServer(
+        return singlePlayerSelectorParser(SelectorResolution.ON_ACCESS);
+    }
+
+    /**
+     * A parser for {@link SinglePlayerSelector}.
+     *
+     * @param <C>        sender type
+     * @param resolution when to resolve the selector
+     * @return a parser descriptor
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public static <C> @NonNull ParserDescriptor<C, SinglePlayerSelector> singlePlayerSelectorParser(
+        final @NonNull SelectorResolution resolution
+    ) {
+        ArgumentParser<C, SinglePlayerSelector> parser = new MappedParser<>(
+            new WrappedBrigadierParser<C, EntitySelector>(EntityArgument.player()),
+            (ctx, entitySelector) -> requireServer(
                 ctx,
                 serverCommandSource -> handleCommandSyntaxExceptionAsFailure(
                     () -> ArgumentParseResult.success(new SinglePlayerSelectorImpl(
                         ((EntitySelectorAccess) entitySelector).inputString(),
                         entitySelector,
-                        entitySelector.findSinglePlayer(serverCommandSource)
+                        selectorValues(ctx, resolution, serverCommandSource, source -> List.of(entitySelector.findSinglePlayer(source)))
                     ))
                 )
-            ));
+            )
+        );
 
         return ParserDescriptor.of(parser, SinglePlayerSelector.class);
     }
 
     /**
-     * A parser for {@link MultiplePlayerSelector}.
+     * A parser for {@link MultiplePlayerSelector}, resolved on first access.
      *
      * @param <C> sender type
      * @return a parser descriptor
+     * @see SelectorResolution#ON_ACCESS
      */
     public static <C> @NonNull ParserDescriptor<C, MultiplePlayerSelector> multiplePlayerSelectorParser() {
-        ArgumentParser<C, MultiplePlayerSelector> parser = new WrappedBrigadierParser<C, EntitySelector>(EntityArgument.players())
-            .flatMapSuccess((ctx, entitySelector) -> requireServer(
+        return multiplePlayerSelectorParser(SelectorResolution.ON_ACCESS);
+    }
+
+    /**
+     * A parser for {@link MultiplePlayerSelector}.
+     *
+     * @param <C>        sender type
+     * @param resolution when to resolve the selector
+     * @return a parser descriptor
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public static <C> @NonNull ParserDescriptor<C, MultiplePlayerSelector> multiplePlayerSelectorParser(
+        final @NonNull SelectorResolution resolution
+    ) {
+        ArgumentParser<C, MultiplePlayerSelector> parser = new MappedParser<>(
+            new WrappedBrigadierParser<C, EntitySelector>(EntityArgument.players()),
+            (ctx, entitySelector) -> requireServer(
                 ctx,
                 serverCommandSource -> handleCommandSyntaxExceptionAsFailure(
                     () -> ArgumentParseResult.success(new MultiplePlayerSelectorImpl(
                         ((EntitySelectorAccess) entitySelector).inputString(),
                         entitySelector,
-                        entitySelector.findPlayers(serverCommandSource)
+                        selectorValues(ctx, resolution, serverCommandSource, entitySelector::findPlayers)
                     ))
                 )
-            ));
+            )
+        );
 
         return ParserDescriptor.of(parser, MultiplePlayerSelector.class);
     }
 
     /**
-     * A parser for {@link SingleEntitySelector}.
+     * A parser for {@link SingleEntitySelector}, resolved on first access.
      *
      * @param <C> sender type
      * @return a parser instance
+     * @see SelectorResolution#ON_ACCESS
      */
     public static <C> @NonNull ParserDescriptor<C, SingleEntitySelector> singleEntitySelectorParser() {
-        ArgumentParser<C, SingleEntitySelector> parser = new WrappedBrigadierParser<C, EntitySelector>(EntityArgument.entity())
-            .flatMapSuccess((ctx, entitySelector) -> requireServer(
+        return singleEntitySelectorParser(SelectorResolution.ON_ACCESS);
+    }
+
+    /**
+     * A parser for {@link SingleEntitySelector}.
+     *
+     * @param <C>        sender type
+     * @param resolution when to resolve the selector
+     * @return a parser instance
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public static <C> @NonNull ParserDescriptor<C, SingleEntitySelector> singleEntitySelectorParser(
+        final @NonNull SelectorResolution resolution
+    ) {
+        ArgumentParser<C, SingleEntitySelector> parser = new MappedParser<>(
+            new WrappedBrigadierParser<C, EntitySelector>(EntityArgument.entity()),
+            (ctx, entitySelector) -> requireServer(
                 ctx,
                 serverCommandSource -> handleCommandSyntaxExceptionAsFailure(
                     () -> ArgumentParseResult.success(new SingleEntitySelectorImpl(
                         ((EntitySelectorAccess) entitySelector).inputString(),
                         entitySelector,
-                        entitySelector.findSingleEntity(serverCommandSource)
+                        selectorValues(ctx, resolution, serverCommandSource, source -> List.of(entitySelector.findSingleEntity(source)))
                     ))
                 )
-            ));
+            )
+        );
 
         return ParserDescriptor.of(parser, SingleEntitySelector.class);
     }
 
     /**
-     * A parser for {@link MultipleEntitySelector}.
+     * A parser for {@link MultipleEntitySelector}, resolved on first access.
      *
      * @param <C> sender type
      * @return a parser instance
+     * @see SelectorResolution#ON_ACCESS
      */
     public static <C> @NonNull ParserDescriptor<C, MultipleEntitySelector> multipleEntitySelectorParser() {
-        ArgumentParser<C, MultipleEntitySelector> parser = new WrappedBrigadierParser<C, EntitySelector>(EntityArgument.entities())
-            .flatMapSuccess((ctx, entitySelector) -> requireServer(
+        return multipleEntitySelectorParser(SelectorResolution.ON_ACCESS);
+    }
+
+    /**
+     * A parser for {@link MultipleEntitySelector}.
+     *
+     * @param <C>        sender type
+     * @param resolution when to resolve the selector
+     * @return a parser instance
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public static <C> @NonNull ParserDescriptor<C, MultipleEntitySelector> multipleEntitySelectorParser(
+        final @NonNull SelectorResolution resolution
+    ) {
+        ArgumentParser<C, MultipleEntitySelector> parser = new MappedParser<>(
+            new WrappedBrigadierParser<C, EntitySelector>(EntityArgument.entities()),
+            (ctx, entitySelector) -> requireServer(
                 ctx,
                 serverCommandSource -> handleCommandSyntaxExceptionAsFailure(
                     () -> ArgumentParseResult.success(new MultipleEntitySelectorImpl(
                         ((EntitySelectorAccess) entitySelector).inputString(),
                         entitySelector,
-                        Collections.unmodifiableCollection(entitySelector.findEntities(serverCommandSource))
+                        selectorValues(ctx, resolution, serverCommandSource, entitySelector::findEntities)
                     ))
                 )
-            ));
+            )
+        );
 
         return ParserDescriptor.of(parser, MultipleEntitySelector.class);
     }
 
+    private static <C, V> @NonNull ResolvableSelectorValues<V> selectorValues(
+        final @NonNull CommandContext<C> ctx,
+        final @NonNull SelectorResolution resolution,
+        final @NonNull CommandSourceStack source,
+        final ResolvableSelectorValues.@NonNull Lookup<V> lookup
+    ) throws CommandSyntaxException {
+        final ResolvableSelectorValues<V> values = new ResolvableSelectorValues<>(source, lookup);
+        if (resolution == SelectorResolution.EAGER) {
+            values.resolveEagerly();
+        } else if (resolution == SelectorResolution.BEFORE_HANDLER) {
+            ctx.computeIfAbsent(ResolvableSelectorValues.PENDING, $ -> new ArrayList<>()).add(values);
+        }
+        // ON_ACCESS values resolve themselves
+        return values;
+    }
+
     /**
      * A parser for {@link Message}.
      *
+     * <p>The mentioned entities are only looked up once {@link Message#mentionedEntities()} is first called.</p>
+     *
      * @param <C> sender type
      * @return a parser instance
      */
     public static <C> @NonNull ParserDescriptor<C, Message> messageParser() {
-        ArgumentParser<C, Message> parser = new WrappedBrigadierParser<C, MessageArgument.Message>(MessageArgument.message())
-            .flatMapSuccess((ctx, format) -> requireServer(
+        return messageParser(false);
+    }
+
+    /**
+     * A parser for {@link Message}.
+     *
+     * <p>By default, selectors are resolved while parsing to build the {@link Message#contents() contents}, and resolved
+     * again the first time {@link Message#mentionedEntities()} is called. When {@code resolveSelectorsOnce} is set,
+     * each selector is resolved exactly once while parsing, and the same entities back both the contents and the
+     * mentions. This suits handlers that always read the mentions.</p>
+     *
+     * @param <C>                  sender type
+     * @param resolveSelectorsOnce whether to share one resolution of each selector between contents and mentions
+     * @return a parser instance
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public static <C> @NonNull ParserDescriptor<C, Message> messageParser(final boolean resolveSelectorsOnce) {
+        ArgumentParser<C, Message> parser = new MappedParser<>(
+            new WrappedBrigadierParser<C, MessageArgument.Message>(MessageArgument.message()),
+            (ctx, format) -> requireServer(
                 ctx,
                 serverCommandSource -> handleCommandSyntaxExceptionAsFailure(
-                    () -> ArgumentParseResult.success(MessageImpl.from(
-                        serverCommandSource,
-                        format,
-                        true
-                    ))
+                    // building the contents resolves selectors, which must happen on the server thread
+                    () -> ArgumentParseResult.success(format.parts().length == 0
+                        ? MessageImpl.from(serverCommandSource, format, true)
+                        : ServerThreadHandoff.call(serverCommandSource, () -> resolveSelectorsOnce
+                            ? MessageImpl.resolvedOnce(serverCommandSource, format)
+                            : MessageImpl.from(serverCommandSource, format, true)))
                 )
-            ));
+            )
+        );
 
         return ParserDescriptor.of(parser, Message.class);
     }
@@ -302,13 +426,13 @@ public final class VanillaArgumentParsers {
         @NonNull ArgumentParseResult<O> result() throws CommandSyntaxException;
     }
 
-    private static <O> @NonNull CompletableFuture<ArgumentParseResult<O>> handleCommandSyntaxExceptionAsFailure(
+    private static <O> @NonNull ArgumentParseResult<O> handleCommandSyntaxExceptionAsFailure(
         final @NonNull CommandSyntaxExceptionThrowingParseResultSupplier<O> resultSupplier
     ) {
         try {
-            return CompletableFuture.completedFuture(resultSupplier.result());
+            return resultSupplier.result();
         } catch (final CommandSyntaxException ex) {
-            return ArgumentParseResult.failureFuture(ex);
+            return ArgumentParseResult.failure(ex);
         }
     }
 
@@ -316,13 +440,13 @@ public final class VanillaArgumentParsers {
         return new IllegalStateException("This command argument type is server-only.");
     }
 
-    private static <C, O> @NonNull CompletableFuture<ArgumentParseResult<O>> requireServer(
+    private static <C, O> @NonNull ArgumentParseResult<O> requireServer(
         final @NonNull CommandContext<C> context,
-        final @NonNull Function<CommandSourceStack, CompletableFuture<ArgumentParseResult<O>>> resultFunction
+        final @NonNull Function<CommandSourceStack, ArgumentParseResult<O>> resultFunction
     ) {
         final SharedSuggestionProvider nativeSource = context.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER);
         if (!(nativeSource instanceof CommandSourceStack commandSourceStack) || isClientSource(nativeSource)) {
-            return ArgumentParseResult.failureFuture(serverOnly());
+            return ArgumentParseResult.failure(serverOnly());
         }
         return resultFunction.apply(commandSourceStack);
     }
@@ -339,7 +463,7 @@ public final class VanillaArgumentParsers {
         return !sharedSuggestionProvider.getClass().equals(CommandSourceStack.class);
     }
 
-    private record MessageImpl(Collection<Entity> mentionedEntities, Component contents) implements Message {
+    private record MessageImpl(Component contents, Supplier<Collection<Entity>> mentions) implements Message {
         static MessageImpl from(
             final @NonNull CommandSourceStack source,
             final MessageArgument.@NonNull Message message,
@@ -347,35 +471,91 @@ public final class VanillaArgumentParsers {
         ) throws CommandSyntaxException {
             final Component contents = message.toComponent(source, useSelectors);
             final MessageArgument.Part[] selectors = message.parts();
-            final Collection<Entity> entities;
             if (!useSelectors || selectors.length == 0) {
-                entities = Collections.emptySet();
-            } else {
-                entities = new HashSet<>();
+                return new MessageImpl(contents, Collections::emptySet);
+            }
+            final ResolvableSelectorValues<Entity> mentions = new ResolvableSelectorValues<>(source, lookupSource -> {
+                final Collection<Entity> entities = new HashSet<>();
                 for (final MessageArgument.Part selector : selectors) {
-                    entities.addAll(selector.selector()
-                        .findEntities(source));
+                    entities.addAll(selector.selector().findEntities(lookupSource));
                 }
+                return entities;
+            });
+            return new MessageImpl(contents, mentions::values);
+        }
+
+        // mirrors MessageArgument.Message#toComponent, keeping the entities each selector resolved to
+        static MessageImpl resolvedOnce(
+            final @NonNull CommandSourceStack source,
+            final MessageArgument.@NonNull Message message
+        ) throws CommandSyntaxException {
+            final String text = message.text();
+            final MessageArgument.Part[] parts = message.parts();
+            if (parts.length == 0) {
+                return new MessageImpl(Component.literal(text), Collections::emptySet);
+            }
+            final Collection<Entity> entities = new HashSet<>();
+            final MutableComponent contents = Component.literal(text.substring(0, parts[0].start()));
+            int cursor = parts[0].start();
+            for (final MessageArgument.Part part : parts) {
+                final List<? extends Entity> found = part.selector().findEntities(source);
+                entities.addAll(found);
+                if (cursor < part.start()) {
+                    contents.append(text.substring(cursor, part.start()));
+                }
+                contents.append(EntitySelector.joinNames(found));
+                cursor = part.end();
+            }
+            if (cursor < text.length()) {
+                contents.append(text.substring(cursor));
             }
+            final Collection<Entity> mentioned = Collections.unmodifiableCollection(entities);
+            return new MessageImpl(contents, () -> mentioned);
+        }
 
-            return new MessageImpl(entities, contents);
+        @Override
+        public @NonNull Collection<Entity> mentionedEntities() {
+            return this.mentions.get();
         }
     }
 
-    private record CoordinatesImpl(CommandSourceStack source, net.minecraft.commands.arguments.coordinates.Coordinates wrappedCoordinates)
-        implements Coordinates,
+    private static final class CoordinatesImpl implements Coordinates,
         Coordinates.CoordinatesXZ,
         Coordinates.BlockCoordinates,
         Coordinates.ColumnCoordinates {
 
+        private final CommandSourceStack source;
+        private final net.minecraft.commands.arguments.coordinates.Coordinates wrappedCoordinates;
+        // the source is immutable, so its resolution never changes; racing threads resolve equal values
+        private volatile @Nullable Vec3 position;
+        private volatile @Nullable BlockPos blockPos;
+
+        CoordinatesImpl(
+            final CommandSourceStack source,
+            final net.minecraft.commands.arguments.coordinates.Coordinates wrappedCoordinates
+        ) {
+            this.source = source;
+            this.wrappedCoordinates = wrappedCoordinates;
+        }
+
         @Override
         public @NonNull Vec3 position() {
-            return this.wrappedCoordinates.getPosition(this.source);
+            Vec3 position = this.position;
+            if (position == null) {
+                position = this.wrappedCoordinates.getPosition(this.source);
+                this.position = position;
+            }
+            return position;
         }
 
         @Override
         public @NonNull BlockPos blockPos() {
-            return BlockPos.containing(this.position());
+            BlockPos blockPos = this.blockPos;
+            if (blockPos == null) {
+                blockPos = BlockPos.containing(this.position());
+                this.blockPos = blockPos;
+            }
+            return blockPos;
         }
 
         @Override
@@ -392,22 +572,80 @@ public final class VanillaArgumentParsers {
         public boolean isZRelative() {
             return this.wrappedCoordinates.isZRelative();
         }
+
+        @Override
+        public net.minecraft.commands.arguments.coordinates.@NonNull Coordinates wrappedCoordinates() {
+            return this.wrappedCoordinates;
+        }
+
+        // equality as when this was a record, the memoized values are derived from these
+
+        @Override
+        public boolean equals(final @Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CoordinatesImpl that)) {
+                return false;
+            }
+            return this.source.equals(that.source) && this.wrappedCoordinates.equals(that.wrappedCoordinates);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.source, this.wrappedCoordinates);
+        }
+
+        @Override
+        public String toString() {
+            return "CoordinatesImpl[source=" + this.source + ", wrappedCoordinates=" + this.wrappedCoordinates + "]";
+        }
     }
 
     private record SingleEntitySelectorImpl(
-        String inputString, EntitySelector selector, Entity single
-    ) implements SingleEntitySelector {}
+        String inputString, EntitySelector selector, ResolvableSelectorValues<Entity> resolvable
+    ) implements SingleEntitySelector {
+        @Override
+        public @NonNull Collection<Entity> values() {
+            return this.resolvable.values();
+        }
+
+        @Override
+        public @NonNull Entity single() {
+            return this.resolvable.values().iterator().next();
+        }
+    }
 
     private record MultipleEntitySelectorImpl(
-        String inputString, EntitySelector selector, Collection<Entity> values
-    ) implements MultipleEntitySelector {}
+        String inputString, EntitySelector selector, ResolvableSelectorValues<Entity> resolvable
+    ) implements MultipleEntitySelector {
+        @Override
+        public @NonNull Collection<Entity> values() {
+            return this.resolvable.values();
+        }
+    }
 
     private record SinglePlayerSelectorImpl(
-        String inputString, EntitySelector selector, ServerPlayer single
-    ) implements SinglePlayerSelector {}
+        String inputString, EntitySelector selector, ResolvableSelectorValues<ServerPlayer> resolvable
+    ) implements SinglePlayerSelector {
+        @Override
+        public @NonNull Collection<ServerPlayer> values() {
+            return this.resolvable.values();
+        }
+
+        @Override
+        public @NonNull ServerPlayer single() {
+            return this.resolvable.values().iterator().next();
+        }
+    }
 
     private record MultiplePlayerSelectorImpl(
-        String inputString, EntitySelector selector, Collection<ServerPlayer> values
-    ) implements MultiplePlayerSelector {}
+        String inputString, EntitySelector selector, ResolvableSelectorValues<ServerPlayer> resolvable
+    ) implements MultiplePlayerSelector {
+        @Override
+        public @NonNull Collection<ServerPlayer> values() {
+            return this.resolvable.values();
+        }
+    }
 
 }
@@ -23,10 +23,14 @@
 //
 package org.incendo.cloud.neoforge;
 
+import com.mojang.logging.LogUtils;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
@@ -52,6 +56,7 @@ import org.incendo.cloud.permission.AndPermission;
 import org.incendo.cloud.permission.OrPermission;
 import org.incendo.cloud.permission.Permission;
 import org.incendo.cloud.permission.PredicatePermission;
+import org.slf4j.Logger;
 
 import static org.incendo.cloud.parser.standard.StringParser.greedyStringParser;
 
@@ -59,6 +64,7 @@ import static org.incendo.cloud.parser.standard.StringParser.greedyStringParser;
 @Mod("cloud")
 @SuppressWarnings("checkstyle:HideUtilityClassConstructor")
 public final class CloudNeoForgeEntrypoint {
+    private static final Logger LOGGER = LogUtils.getLogger();
     private static boolean serverStartingCalled;
 
     /**
@@ -81,6 +87,10 @@ public final class CloudNeoForgeEntrypoint {
 
         NeoForge.EVENT_BUS.addListener(EventPriority.HIGHEST, (ServerStartingEvent event) -> serverStartingCalled = true);
         NeoForge.EVENT_BUS.addListener(EventPriority.LOW, CloudNeoForgeEntrypoint::registerPermissions);
+        NeoForge.EVENT_BUS.addListener(
+            EventPriority.LOWEST,
+            (PermissionGatherEvent.Nodes event) -> PermissionNodeIndex.rebuild(event.getNodes())
+        );
 
         if (Boolean.getBoolean("cloud.test_commands")) {
             testServerManager();
@@ -98,58 +108,80 @@ public final class CloudNeoForgeEntrypoint {
     }
 
     private static void registerPermissions(final PermissionGatherEvent.Nodes event) {
+        final long start = System.nanoTime();
         event.addNodes(new PermissionNode<>(
             "cloud",
             "hover-stacktrace",
             PermissionTypes.BOOLEAN,
             CloudNeoForgeEntrypoint::defaultPermissionHandler
         ));
-        for (final NeoForgeCommandManager<?> manager : NeoForgeServerCommandManager.INSTANCES) {
-            registerPermissionsForManager(event, manager);
+        final Set<String> registered = new HashSet<>();
+        for (final PermissionNode<?> node : event.getNodes()) {
+            registered.add(node.getNodeName());
         }
+        int managers = 0;
+        int added = 0;
+        synchronized (NeoForgeServerCommandManager.INSTANCES) {
+            for (final NeoForgeCommandManager<?> manager : NeoForgeServerCommandManager.INSTANCES) {
+                added += registerPermissionsForManager(event, registered, manager);
+                managers++;
+            }
+        }
+        LOGGER.debug(
+            "Registered {} permission nodes for {} command managers in {}ms",
+            added,
+            managers,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        );
     }
 
-    private static void registerPermissionsForManager(final PermissionGatherEvent.Nodes event, final NeoForgeCommandManager<?> manager) {
-        final Set<String> permissions = new HashSet<>();
-        collectPermissions(permissions, manager.commandTree().rootNodes());
-        permissions.stream()
-            .filter(permissionString -> event.getNodes().stream().noneMatch(node -> node.getNodeName().equals(permissionString)))
-            .map(permissionString -> {
-                final int i = permissionString.indexOf(".");
-                return new PermissionNode<>(
-                    permissionString.substring(0, i),
-                    permissionString.substring(i + 1),
-                    PermissionTypes.BOOLEAN,
-                    CloudNeoForgeEntrypoint::defaultPermissionHandler
-                );
-            })
-            .forEach(event::addNodes);
-    }
-
-    private static <C> void collectPermissions(
-        final Set<String> permissions,
-        final Collection<CommandNode<C>> nodes
+    private static int registerPermissionsForManager(
+        final PermissionGatherEvent.Nodes event,
+        final Set<String> registered,
+        final NeoForgeCommandManager<?> manager
     ) {
-        for (final CommandNode<C> node : nodes) {
-            final @Nullable Command<C> owningCommand = node.command();
-            if (owningCommand != null) {
-                recurseCommandPermission(permissions, owningCommand.commandPermission());
+        int added = 0;
+        for (final String permissionString : collectPermissions(manager.commandTree().rootNodes())) {
+            if (!registered.add(permissionString)) {
+                continue;
             }
-            collectPermissions(permissions, node.children());
+            final int i = permissionString.indexOf(".");
+            event.addNodes(new PermissionNode<>(
+                permissionString.substring(0, i),
+                permissionString.substring(i + 1),
+                PermissionTypes.BOOLEAN,
+                CloudNeoForgeEntrypoint::defaultPermissionHandler
+            ));
+            added++;
         }
+        return added;
     }
 
-    private static void recurseCommandPermission(final Set<String> permissions, final Permission permission) {
-        if (permission instanceof PredicatePermission<?> || permission == Permission.empty()) {
-            return;
-        }
-        if (permission instanceof OrPermission || permission instanceof AndPermission) {
-            for (final Permission child : permission.permissions()) {
-                recurseCommandPermission(permissions, child);
+    private static <C> Set<String> collectPermissions(final Collection<CommandNode<C>> rootNodes) {
+        final Set<String> permissions = new HashSet<>();
+        final Deque<CommandNode<C>> nodes = new ArrayDeque<>(rootNodes);
+        final Deque<Permission> pending = new ArrayDeque<>();
+        while (!nodes.isEmpty()) {
+            final CommandNode<C> node = nodes.pop();
+            final @Nullable Command<C> owningCommand = node.command();
+            if (owningCommand != null) {
+                pending.push(owningCommand.commandPermission());
+                // flatten compound permissions into their plain permission strings
+                while (!pending.isEmpty()) {
+                    final Permission permission = pending.pop();
+                    if (permission instanceof PredicatePermission<?> || permission == Permission.empty()) {
+                        continue;
+                    }
+                    if (permission instanceof OrPermission || permission instanceof AndPermission) {
+                        pending.addAll(permission.permissions());
+                    } else {
+                        permissions.add(permission.permissionString());
+                    }
+                }
             }
-        } else {
-            permissions.add(permission.permissionString());
+            nodes.addAll(node.children());
         }
+        return permissions;
     }
 
     private static Boolean defaultPermissionHandler(
@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.WeakHashMap;
 import net.minecraft.commands.CommandSourceStack;
+import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
 import org.incendo.cloud.CommandManager;
@@ -38,22 +39,27 @@ import org.incendo.cloud.brigadier.suggestion.TooltipSuggestion;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.meta.CommandMeta;
 import org.incendo.cloud.meta.SimpleCommandMeta;
+import org.incendo.cloud.minecraft.modded.ModdedSetting;
+import org.incendo.cloud.minecraft.modded.ModdedSettingsHolder;
 import org.incendo.cloud.minecraft.modded.caption.MinecraftCaptionFormatter;
 import org.incendo.cloud.minecraft.modded.caption.ModdedDefaultCaptionsProvider;
 import org.incendo.cloud.minecraft.modded.internal.ModdedExceptionHandler;
 import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
 import org.incendo.cloud.minecraft.modded.internal.ModdedPreprocessor;
+import org.incendo.cloud.minecraft.modded.internal.ModdedSelectorPostprocessor;
+import org.incendo.cloud.setting.Configurable;
 import org.incendo.cloud.suggestion.SuggestionFactory;
 
 @DefaultQualifier(NonNull.class)
 public abstract class NeoForgeCommandManager<C> extends CommandManager<C>
-    implements BrigadierManagerHolder<C, CommandSourceStack>, SenderMapperHolder<CommandSourceStack, C> {
+    implements BrigadierManagerHolder<C, CommandSourceStack>, SenderMapperHolder<CommandSourceStack, C>, ModdedSettingsHolder {
 
     static final Set<NeoForgeCommandManager<?>> INSTANCES = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
 
     private final SenderMapper<CommandSourceStack, C> senderMapper;
     private final CloudBrigadierManager<C, CommandSourceStack> brigadierManager;
     private final SuggestionFactory<C, ? extends TooltipSuggestion> suggestionFactory;
+    private final Configurable<ModdedSetting> moddedSettings = Configurable.enumConfigurable(ModdedSetting.class);
 
     @SuppressWarnings("this-escape")
     protected NeoForgeCommandManager(
@@ -70,6 +76,7 @@ public abstract class NeoForgeCommandManager<C> extends CommandManager<C>
         registrationHandler.initialize(this);
         this.captionRegistry().registerProvider(new ModdedDefaultCaptionsProvider<>());
         this.registerCommandPreProcessor(new ModdedPreprocessor<>(senderMapper));
+        this.registerCommandPostProcessor(new ModdedSelectorPostprocessor<>());
 
         ModdedParserMappings.register(this, this.brigadierManager);
     }
@@ -99,6 +106,17 @@ public abstract class NeoForgeCommandManager<C> extends CommandManager<C>
         return this.suggestionFactory;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    @Override
+    public final @NonNull Configurable<ModdedSetting> moddedSettings() {
+        return this.moddedSettings;
+    }
+
     final void registrationCalled() {
         this.lockRegistration();
     }
@@ -45,7 +45,10 @@ import org.incendo.cloud.brigadier.CloudBrigadierCommand;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.incendo.cloud.minecraft.modded.ModdedCommandMetaKeys;
+import org.incendo.cloud.minecraft.modded.ParseResultCache;
 import org.incendo.cloud.minecraft.modded.internal.ContextualArgumentTypeProvider;
+import org.incendo.cloud.minecraft.modded.internal.ParseOnceBrigadierCommand;
+import org.incendo.cloud.minecraft.modded.internal.RegistrySuggestionIndex;
 
 import static org.incendo.cloud.brigadier.util.BrigadierUtil.buildRedirect;
 
@@ -69,17 +72,17 @@ abstract class NeoForgeCommandRegistrationHandler<C> implements CommandRegistrat
     }
 
     @SuppressWarnings("unchecked")
-    protected final void registerCommand(final Command<C> command, final CommandDispatcher<CommandSourceStack> dispatcher) {
+    protected final void registerCommand(
+        final Command<C> command,
+        final CommandDispatcher<CommandSourceStack> dispatcher,
+        final com.mojang.brigadier.Command<CommandSourceStack> executor
+    ) {
         final RootCommandNode<CommandSourceStack> rootNode = dispatcher.getRoot();
         final CommandComponent<C> first = command.rootComponent();
         final CommandNode<CommandSourceStack> baseNode = this.commandManager()
             .brigadierManager()
             .literalBrigadierNodeFactory()
-            .createNode(
-                first.name(),
-                command,
-                new CloudBrigadierCommand<>(this.commandManager(), this.commandManager().brigadierManager())
-            );
+            .createNode(first.name(), command, executor);
 
         rootNode.addChild(baseNode);
 
@@ -117,7 +120,7 @@ abstract class NeoForgeCommandRegistrationHandler<C> implements CommandRegistrat
                     this.commandManager(),
                     CommandBuildContext.simple(connection.registryAccess(), connection.enabledFeatures()),
                     false,
-                    () -> this.registerCommand(command, dispatcher)
+                    () -> this.registerCommand(command, dispatcher, this.executor())
                 );
             }
             return true;
@@ -125,17 +128,23 @@ abstract class NeoForgeCommandRegistrationHandler<C> implements CommandRegistrat
 
         public void registerCommands(final RegisterClientCommandsEvent event) {
             this.registerEventFired = true;
+            RegistrySuggestionIndex.invalidateAll();
+            ParseResultCache.instance().invalidateAll();
             ContextualArgumentTypeProvider.withBuildContext(
                 this.commandManager(),
                 event.getBuildContext(),
                 true,
                 () -> {
                     for (final Command<C> command : this.registeredCommands) {
-                        this.registerCommand(command, event.getDispatcher());
+                        this.registerCommand(command, event.getDispatcher(), this.executor());
                     }
                 }
             );
         }
+
+        private com.mojang.brigadier.Command<CommandSourceStack> executor() {
+            return new CloudBrigadierCommand<>(this.commandManager(), this.commandManager().brigadierManager());
+        }
     }
 
     static class Server<C> extends NeoForgeCommandRegistrationHandler<C> {
@@ -156,6 +165,8 @@ abstract class NeoForgeCommandRegistrationHandler<C> implements CommandRegistrat
 
         private void registerAllCommands(final RegisterCommandsEvent event) {
             this.commandManager().registrationCalled();
+            RegistrySuggestionIndex.invalidateAll();
+            ParseResultCache.instance().invalidateAll();
             ContextualArgumentTypeProvider.withBuildContext(
                 this.commandManager(),
                 event.getBuildContext(),
@@ -172,7 +183,12 @@ abstract class NeoForgeCommandRegistrationHandler<C> implements CommandRegistrat
                             || (env == Commands.CommandSelection.DEDICATED && !event.getCommandSelection().includeDedicated)) {
                             continue;
                         }
-                        this.registerCommand(command, event.getDispatcher());
+                        final com.mojang.brigadier.Command<CommandSourceStack> executor = ParseOnceBrigadierCommand.serverExecutor(
+                            this.commandManager(),
+                            this.commandManager().senderMapper(),
+                            this.commandManager().brigadierManager()
+                        );
+                        this.registerCommand(command, event.getDispatcher(), executor);
                     }
                 }
             );
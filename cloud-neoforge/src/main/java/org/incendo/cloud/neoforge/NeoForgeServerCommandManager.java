@@ -23,24 +23,22 @@
 //
 package org.incendo.cloud.neoforge;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.util.concurrent.UncheckedExecutionException;
-import java.util.concurrent.ExecutionException;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.server.permissions.Permission;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 import net.neoforged.neoforge.server.permission.PermissionAPI;
-import net.neoforged.neoforge.server.permission.nodes.PermissionNode;
-import net.neoforged.neoforge.server.permission.nodes.PermissionTypes;
+import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.minecraft.modded.execution.TickBudgetedExecutionCoordinator;
+import org.incendo.cloud.minecraft.modded.execution.TimeSlicedTaskScheduler;
 import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
 
 public final class NeoForgeServerCommandManager<C> extends NeoForgeCommandManager<C> {
 
-    private final Cache<String, PermissionNode<Boolean>> permissionNodeCache = CacheBuilder.newBuilder().maximumSize(100).build();
-
     /**
      * Create a command manager using native source types.
      *
@@ -76,6 +74,26 @@ public final class NeoForgeServerCommandManager<C> extends NeoForgeCommandManage
         }
 
         ModdedParserMappings.registerServer(this);
+
+        if (executionCoordinator instanceof TickBudgetedExecutionCoordinator<C> tickBudgeted && tickBudgeted.claimServerHooks()) {
+            NeoForge.EVENT_BUS.addListener((ServerTickEvent.Post event) -> tickBudgeted.drain());
+            NeoForge.EVENT_BUS.addListener((ServerStoppingEvent event) -> tickBudgeted.stop());
+        }
+    }
+
+    /**
+     * Runs the units of the tasks submitted to {@code scheduler} at the end of every server tick, and stops its tasks
+     * when the server stops.
+     *
+     * <p>A scheduler should only be registered with one manager.</p>
+     *
+     * @param scheduler the scheduler
+     * @since 2.1.0
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "2.1.0")
+    public void registerTimeSlicedTasks(final @NonNull TimeSlicedTaskScheduler scheduler) {
+        NeoForge.EVENT_BUS.addListener((ServerTickEvent.Post event) -> scheduler.tick());
+        NeoForge.EVENT_BUS.addListener((ServerStoppingEvent event) -> scheduler.stop());
     }
 
     /**
@@ -87,7 +105,6 @@ public final class NeoForgeServerCommandManager<C> extends NeoForgeCommandManage
      * @return {@code true} if the sender has the permission, else {@code false}
      * @throws PermissionNotRegisteredException if the permission is not registered to NeoForge
      */
-    @SuppressWarnings({"unchecked", "ReferenceEquality"})
     @Override
     public boolean hasPermission(final @NonNull C sender, final @NonNull String permission) {
         if (permission.isEmpty()) {
@@ -95,22 +112,7 @@ public final class NeoForgeServerCommandManager<C> extends NeoForgeCommandManage
         }
         final CommandSourceStack source = this.senderMapper().reverse(sender);
         if (source.isPlayer()) {
-            final PermissionNode<Boolean> node;
-            try {
-                node = this.permissionNodeCache.get(permission, () -> (PermissionNode<Boolean>) PermissionAPI.getRegisteredNodes().stream()
-                    .filter(n -> n.getNodeName().equals(permission) && n.getType() == PermissionTypes.BOOLEAN)
-                    .findFirst()
-                    .orElseThrow(() -> new PermissionNotRegisteredException(permission)));
-            } catch (final UncheckedExecutionException e) {
-                if (e.getCause() instanceof PermissionNotRegisteredException notRegisteredException) {
-                    // PermissionNotRegisteredException is unchecked, so Cache#get will throw UncheckedExecutionException
-                    throw notRegisteredException;
-                }
-                throw new RuntimeException("Exception location permission node " + permission, e);
-            } catch (final ExecutionException e) {
-                throw new RuntimeException("Exception location permission node " + permission, e);
-            }
-            return PermissionAPI.getPermission(source.getPlayer(), node);
+            return PermissionAPI.getPermission(source.getPlayer(), PermissionNodeIndex.node(permission));
         }
 
         // noinspection ConstantConditions - vanilla annotations are lying
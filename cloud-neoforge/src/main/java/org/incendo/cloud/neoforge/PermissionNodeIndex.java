@@ -0,0 +1,95 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.neoforge;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import net.neoforged.neoforge.server.permission.PermissionAPI;
+import net.neoforged.neoforge.server.permission.nodes.PermissionNode;
+import net.neoforged.neoforge.server.permission.nodes.PermissionTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Boolean permission nodes registered to NeoForge, indexed by name.
+ *
+ * <p>The index is built from the final node set of each
+ * {@link net.neoforged.neoforge.server.permission.events.PermissionGatherEvent.Nodes}. Lookups of names it does not know re-index {@link PermissionAPI#getRegisteredNodes()} once per change of the
+ * registered node count, which covers nodes added by listeners running after ours.</p>
+ */
+final class PermissionNodeIndex {
+
+    private static volatile Index index = new Index(Map.of(), -1);
+
+    private PermissionNodeIndex() {
+    }
+
+    /**
+     * Replaces the index with the given nodes.
+     *
+     * @param nodes all registered nodes
+     */
+    static void rebuild(final @NonNull Collection<? extends PermissionNode<?>> nodes) {
+        index = Index.of(nodes);
+    }
+
+    /**
+     * Returns the boolean node registered under a name.
+     *
+     * @param permission the node name
+     * @return the node
+     * @throws PermissionNotRegisteredException if no boolean node is registered under that name
+     */
+    static @NonNull PermissionNode<Boolean> node(final @NonNull String permission) {
+        Index current = index;
+        @Nullable PermissionNode<Boolean> node = current.nodes().get(permission);
+        if (node == null) {
+            final Collection<PermissionNode<?>> registered = PermissionAPI.getRegisteredNodes();
+            if (registered.size() != current.registeredCount()) {
+                current = Index.of(registered);
+                index = current;
+                node = current.nodes().get(permission);
+            }
+            if (node == null) {
+                throw new PermissionNotRegisteredException(permission);
+            }
+        }
+        return node;
+    }
+
+    private record Index(Map<String, PermissionNode<Boolean>> nodes, int registeredCount) {
+
+        @SuppressWarnings({"unchecked", "ReferenceEquality"})
+        static Index of(final Collection<? extends PermissionNode<?>> nodes) {
+            final Map<String, PermissionNode<Boolean>> byName = new HashMap<>(nodes.size() * 2);
+            for (final PermissionNode<?> node : nodes) {
+                if (node.getType() == PermissionTypes.BOOLEAN) {
+                    byName.putIfAbsent(node.getNodeName(), (PermissionNode<Boolean>) node);
+                }
+            }
+            return new Index(Map.copyOf(byName), nodes.size());
+        }
+    }
+}
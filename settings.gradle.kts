@@ -44,3 +44,4 @@ rootProject.name = "cloud-minecraft-modded"
 include("cloud-minecraft-modded-common")
 include("cloud-fabric")
 include("cloud-neoforge")
+include("cloud-minecraft-modded-benchmarks")